@@ -0,0 +1,80 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.ibm.infosvr.restclient.IGCRestClient;
+import com.ibm.infosvr.restclient.model.CompactReferenceList;
+import com.ibm.infosvr.restclient.model.Reference;
+import com.ibm.infosvr.restclient.model.ReferenceList;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of reading IGC responses into POJOs: a page of search results into a ReferenceList (as the
+ * client does when streaming a response) or directly into a CompactReferenceList, and an asset with paged relationships through readJSONIntoPOJO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int items;
+
+    private byte[] searchResponse;
+    private JsonNode assetResponse;
+
+    private ObjectReader referenceListReader;
+    private ObjectReader compactPageReader;
+    private BenchmarkClient igcrest;
+
+    @Setup
+    public void setup() {
+        searchResponse = IGCFixtures.toBytes(IGCFixtures.searchResponse(items));
+        assetResponse = IGCFixtures.assetResponse(items);
+        referenceListReader = IGCFixtures.newObjectMapper().readerFor(ReferenceList.class);
+        compactPageReader = IGCFixtures.newObjectMapper().readerFor(CompactReferenceList.Page.class);
+        igcrest = new BenchmarkClient();
+        igcrest.registerPOJO(new NamedType(Term.class, "term"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        igcrest.disconnect();
+    }
+
+    @Benchmark
+    public ReferenceList readReferenceList() throws IOException {
+        return referenceListReader.readValue(searchResponse);
+    }
+
+    @Benchmark
+    public CompactReferenceList.Page readCompactReferenceList() throws IOException {
+        return compactPageReader.readValue(searchResponse);
+    }
+
+    @Benchmark
+    public Reference readJSONIntoPOJO() {
+        return igcrest.readJSONIntoPOJO(assetResponse);
+    }
+
+    /**
+     * A client that never connects to a server, exposing its conversion of JSON structures into POJOs
+     */
+    private static final class BenchmarkClient extends IGCRestClient {
+
+        @Override
+        protected Reference readJSONIntoPOJO(JsonNode jsonNode) {
+            return super.readJSONIntoPOJO(jsonNode);
+        }
+
+    }
+
+}
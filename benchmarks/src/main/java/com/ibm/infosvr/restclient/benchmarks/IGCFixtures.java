@@ -0,0 +1,293 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ibm.infosvr.restclient.model.Label;
+import com.ibm.infosvr.restclient.model.Paging;
+
+import java.util.Collection;
+
+/**
+ * Response fixtures in the shape of those recorded from IGC's REST API (v1), of any size.
+ *
+ * The fixtures are generated rather than stored, so that responses of tens of thousands of items do not need to be
+ * kept in the repository; they are deterministic, so every run of a benchmark reads exactly the same bytes.
+ */
+public final class IGCFixtures {
+
+    public static final String BASE_URL = "https://infosvr.example.com:9446";
+
+    public static final String ASSETS = "/ibm/iis/igc-rest/v1/assets/";
+    public static final String SEARCH = "/ibm/iis/igc-rest/v1/search/";
+
+    /** The depth of the '_context' of every asset (the categories, hosts, databases, etc that contain it) */
+    public static final int CONTEXT_DEPTH = 6;
+
+    /** The number of relationships included in each page of a relationship of an asset */
+    public static final int RELATIONSHIP_PAGE_SIZE = 10;
+
+    /** The relationships included in every asset, and the type of asset to which each relates */
+    public static final String[][] RELATIONSHIPS = {
+            { "labels", "label" },
+            { "stewards", "steward_user" },
+            { "assigned_assets", "database_column" },
+            { "synonyms", "term" }
+    };
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final String[] CONTEXT_TYPES = {
+            "host", "database", "database_schema", "category", "category", "category", "category", "category"
+    };
+    private static final String TERM_KIND = "e1b1ec6c";
+
+    private IGCFixtures() { }
+
+    /**
+     * Creates an ObjectMapper configured in the same way as an IGCRestClient's, with the benchmark POJOs registered
+     *
+     * @return ObjectMapper
+     */
+    public static ObjectMapper newObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enableDefaultTyping();
+        mapper.registerSubtypes(
+                new NamedType(Paging.class, "paging"),
+                new NamedType(Label.class, "label"),
+                new NamedType(Term.class, "term"));
+        return mapper;
+    }
+
+    /**
+     * Generate a response to a search: the first page of results, containing the provided number of terms (each
+     * with a full '_context')
+     *
+     * @param numItems - the number of items on the page
+     * @return JsonNode
+     */
+    public static JsonNode searchResponse(int numItems) {
+        return searchResponse(BASE_URL, numItems * 3, 0, numItems, null);
+    }
+
+    /**
+     * Generate a page of the response to a search for terms
+     *
+     * @param baseURL - the base URL of the server responding
+     * @param numTotal - the total number of terms across all pages
+     * @param begin - the index of the first term on the page
+     * @param pageSize - the maximum number of terms on the page
+     * @param properties - the properties to include for each term (or null to include all of them)
+     * @return JsonNode
+     */
+    public static JsonNode searchResponse(String baseURL, int numTotal, int begin, int pageSize, Collection<String> properties) {
+        ObjectNode response = NODES.objectNode();
+        response.set("paging", paging(baseURL + SEARCH + "?types=term&pageSize=" + pageSize + "&begin=", numTotal, begin, pageSize));
+        ArrayNode items = response.putArray("items");
+        for (int i = begin; i < Math.min(numTotal, begin + pageSize); i++) {
+            items.add(project(term(baseURL, i), properties));
+        }
+        return response;
+    }
+
+    /**
+     * Generate a response to a search for specific terms (by their RIDs), as is made to retrieve assets in bulk
+     *
+     * @param baseURL - the base URL of the server responding
+     * @param indexes - the indexes of the terms to include
+     * @param properties - the properties to include for each term (or null to include all of them)
+     * @return JsonNode
+     */
+    public static JsonNode searchResponse(String baseURL, Collection<Integer> indexes, Collection<String> properties) {
+        ObjectNode response = NODES.objectNode();
+        response.set("paging", paging(null, indexes.size(), 0, Math.max(1, indexes.size())));
+        ArrayNode items = response.putArray("items");
+        for (Integer index : indexes) {
+            items.add(project(term(baseURL, index), properties));
+        }
+        return response;
+    }
+
+    /**
+     * Generate a response to a request for a single asset: a term including several relationships, each of which
+     * has only its first page of the provided total number of relationships
+     *
+     * @param numRelationships - the total number of relationships of each kind (across all pages)
+     * @return JsonNode
+     */
+    public static JsonNode assetResponse(int numRelationships) {
+        return assetResponse(BASE_URL, 0, numRelationships);
+    }
+
+    /**
+     * Generate a response to a request for a single term, including only the first page of each of its
+     * relationships
+     *
+     * @param baseURL - the base URL of the server responding
+     * @param index - the index of the term
+     * @param numRelationships - the total number of relationships of each kind (across all pages)
+     * @return JsonNode
+     */
+    public static JsonNode assetResponse(String baseURL, int index, int numRelationships) {
+        ObjectNode asset = term(baseURL, index);
+        asset.put("long_description", repeat("A longer description of the term, as it appears in the glossary. ", 8));
+        asset.put("created_by", "isadmin");
+        asset.put("created_on", 1514764800000L);
+        asset.put("modified_by", "isadmin");
+        asset.put("status", "ACCEPTED");
+        String rid = asset.get("_id").asText();
+        for (String[] relationship : RELATIONSHIPS) {
+            asset.set(relationship[0], relationshipResponse(baseURL, rid, relationship[0], numRelationships, 0, RELATIONSHIP_PAGE_SIZE));
+        }
+        return asset;
+    }
+
+    /**
+     * Generate a page of a relationship of an asset
+     *
+     * @param baseURL - the base URL of the server responding
+     * @param rid - the RID of the asset
+     * @param property - the name of the relationship
+     * @param numTotal - the total number of relationships across all pages
+     * @param begin - the index of the first relationship on the page
+     * @param pageSize - the maximum number of relationships on the page
+     * @return JsonNode
+     */
+    public static JsonNode relationshipResponse(String baseURL, String rid, String property, int numTotal, int begin, int pageSize) {
+        String type = "main_object";
+        for (String[] relationship : RELATIONSHIPS) {
+            if (relationship[0].equals(property)) {
+                type = relationship[1];
+            }
+        }
+        ObjectNode relationships = NODES.objectNode();
+        relationships.set("paging", paging(baseURL + ASSETS + rid + "/" + property + "?pageSize=" + pageSize + "&begin=", numTotal, begin, pageSize));
+        ArrayNode items = relationships.putArray("items");
+        for (int i = begin; i < Math.min(numTotal, begin + pageSize); i++) {
+            items.add(reference(baseURL, type, rid(Integer.toHexString(property.hashCode()), i), property + " " + i));
+        }
+        return relationships;
+    }
+
+    /**
+     * Serialize a fixture into the bytes of a response body
+     *
+     * @param fixture - the fixture to serialize
+     * @return byte[]
+     */
+    public static byte[] toBytes(JsonNode fixture) {
+        try {
+            return new ObjectMapper().writeValueAsBytes(fixture);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Retrieve the RID of the term with the provided index
+     *
+     * @param index - the index of the term
+     * @return String
+     */
+    public static String getTermRid(int index) {
+        return rid(TERM_KIND, index);
+    }
+
+    /**
+     * Retrieve the index of the term with the provided RID
+     *
+     * @param rid - the RID of the term
+     * @return int - or -1 if the RID is not that of a term
+     */
+    public static int getTermIndex(String rid) {
+        String[] parts = rid.split("\\.");
+        if (parts.length != 4 || !parts[1].equals(TERM_KIND)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(parts[2], 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Generate a term, with a full '_context'
+     *
+     * @param baseURL - the base URL of the server responding
+     * @param index - the index of the term (determining its RID, name and context)
+     * @return ObjectNode
+     */
+    public static ObjectNode term(String baseURL, int index) {
+        String name = "Term " + index;
+        ObjectNode term = reference(baseURL, "term", getTermRid(index), name);
+        term.put("name", name);
+        term.put("short_description", "The short description of " + name);
+        term.put("modified_on", 1540000000000L + index);
+        ArrayNode context = term.putArray("_context");
+        for (int depth = 0; depth < CONTEXT_DEPTH; depth++) {
+            // Terms share their outer context, and diverge only towards the innermost category
+            int parent = index / (int) Math.pow(10, CONTEXT_DEPTH - depth);
+            context.add(reference(baseURL, CONTEXT_TYPES[depth % CONTEXT_TYPES.length], rid("c4a1d0b3", depth * 1000000 + parent), "Parent " + depth + "-" + parent));
+        }
+        return term;
+    }
+
+    /**
+     * Reduce an asset to the properties requested of a search (as well as those included in every search result)
+     */
+    private static ObjectNode project(ObjectNode asset, Collection<String> properties) {
+        if (properties != null) {
+            ObjectNode projected = NODES.objectNode();
+            asset.fields().forEachRemaining(field -> {
+                if (field.getKey().startsWith("_") || properties.contains(field.getKey())) {
+                    projected.set(field.getKey(), field.getValue());
+                }
+            });
+            return projected;
+        }
+        return asset;
+    }
+
+    private static ObjectNode paging(String pageURL, int numTotal, int begin, int pageSize) {
+        ObjectNode paging = NODES.objectNode();
+        int end = Math.min(numTotal, begin + pageSize);
+        paging.put("numTotal", numTotal);
+        paging.put("pageSize", pageSize);
+        paging.put("begin", begin);
+        paging.put("end", end);
+        if (pageURL != null && end < numTotal) {
+            paging.put("next", pageURL + end);
+        }
+        if (pageURL != null && begin > 0) {
+            paging.put("previous", pageURL + Math.max(0, begin - pageSize));
+        }
+        return paging;
+    }
+
+    private static ObjectNode reference(String baseURL, String type, String rid, String name) {
+        ObjectNode reference = NODES.objectNode();
+        reference.put("_type", type);
+        reference.put("_id", rid);
+        reference.put("_name", name);
+        reference.put("_url", baseURL + ASSETS + rid);
+        return reference;
+    }
+
+    private static String rid(String kind, int index) {
+        return String.format("6662c0f2.%s.%09x.%s", kind, index, "a3f9c01e");
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            sb.append(text);
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,359 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.benchmarks;
+
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.ibm.infosvr.restclient.IGCRestClient;
+import com.ibm.infosvr.restclient.metrics.IGCInMemoryMetrics;
+import com.ibm.infosvr.restclient.metrics.IGCMetricsSnapshot;
+import com.ibm.infosvr.restclient.model.ReferenceList;
+import com.ibm.infosvr.restclient.search.IGCSearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives an IGCRestClient with a fixed number of threads (each making one operation after another, as fast as the
+ * client and server allow) for a fixed duration, and reports the throughput and latency achieved.
+ */
+public class IGCLoadTest {
+
+    /**
+     * The operations a load test can make
+     */
+    public enum Workload {
+        /** Retrieve a single (random) asset */
+        ASSET,
+        /** Search for the first page of assets, including several properties of each */
+        SEARCH,
+        /** Retrieve a single (random) asset and then every page of one of its relationships */
+        ALL_PAGES,
+        /** Retrieve a set of (random) assets in bulk, by their RIDs */
+        BULK
+    }
+
+    public static final int DEFAULT_CONCURRENCY = 16;
+    public static final long DEFAULT_WARMUP_MS = 2000;
+    public static final long DEFAULT_DURATION_MS = 10000;
+
+    private static final int BULK_SIZE = 100;
+    private static final int MAX_CONNECT_ATTEMPTS = 5;
+
+    private final String baseURL;
+    private final String authorization;
+
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private int sessions = 1;
+    private long warmupMs = DEFAULT_WARMUP_MS;
+    private long durationMs = DEFAULT_DURATION_MS;
+    private int numAssets = IGCStandInServer.DEFAULT_NUM_ASSETS;
+
+    /**
+     * Creates a new load test against the provided server
+     *
+     * @param baseURL - the base URL of the server (eg. that of an IGCStandInServer)
+     * @param authorization - the Basic-encoded authorization information (see IGCRestClient.encodeBasicAuth)
+     */
+    public IGCLoadTest(String baseURL, String authorization) {
+        this.baseURL = baseURL;
+        this.authorization = authorization;
+    }
+
+    /**
+     * Set the number of threads making operations concurrently
+     *
+     * @param concurrency
+     */
+    public void setConcurrency(int concurrency) { this.concurrency = Math.max(1, concurrency); }
+
+    /**
+     * Set the number of sessions the client holds (see IGCRestClient.setSessionPoolSize)
+     *
+     * @param sessions
+     */
+    public void setSessions(int sessions) { this.sessions = Math.max(1, sessions); }
+
+    /**
+     * Set how long to make operations before measuring them (to allow the JVM and connections to warm up)
+     *
+     * @param warmupMs - in milliseconds
+     */
+    public void setWarmupMs(long warmupMs) { this.warmupMs = Math.max(0, warmupMs); }
+
+    /**
+     * Set how long to measure operations for
+     *
+     * @param durationMs - in milliseconds
+     */
+    public void setDurationMs(long durationMs) { this.durationMs = Math.max(1, durationMs); }
+
+    /**
+     * Set the number of assets that exist on the server, from which to pick the assets to retrieve
+     *
+     * @param numAssets
+     */
+    public void setNumAssets(int numAssets) { this.numAssets = Math.max(1, numAssets); }
+
+    /**
+     * Run the load test for the provided workload, with a new client
+     *
+     * @param workload - the operations to make
+     * @return Result
+     * @throws InterruptedException if interrupted while waiting for the test to complete
+     */
+    public Result run(Workload workload) throws InterruptedException {
+
+        IGCRestClient igcrest = connect();
+        igcrest.registerPOJO(new NamedType(Term.class, "term"));
+        igcrest.setSessionPoolSize(sessions);
+        IGCInMemoryMetrics metrics = new IGCInMemoryMetrics();
+        igcrest.setMetrics(metrics);
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.MILLISECONDS.toNanos(warmupMs);
+        long measureUntil = measureFrom + TimeUnit.MILLISECONDS.toNanos(durationMs);
+
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        List<Thread> threads = new ArrayList<>();
+        long[] requestsAtStart = new long[1];
+        Thread snapshotter = new Thread(() -> {
+            try {
+                TimeUnit.NANOSECONDS.sleep(measureFrom - System.nanoTime());
+                requestsAtStart[0] = getRequestCount(metrics.getSnapshot());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        snapshotter.start();
+
+        for (int i = 0; i < concurrency; i++) {
+            final int thread = i;
+            threads.add(new Thread(() -> {
+                long[] recorded = new long[1024];
+                int count = 0;
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long now = System.nanoTime();
+                    while (now < measureUntil) {
+                        boolean failed = false;
+                        try {
+                            perform(igcrest, workload, random);
+                        } catch (RuntimeException e) {
+                            failed = true;
+                        }
+                        long finished = System.nanoTime();
+                        if (now >= measureFrom) {
+                            if (failed) {
+                                errors.incrementAndGet();
+                            } else {
+                                if (count == recorded.length) {
+                                    recorded = Arrays.copyOf(recorded, count * 2);
+                                }
+                                recorded[count++] = finished - now;
+                            }
+                        }
+                        now = finished;
+                    }
+                } finally {
+                    // Only read once every thread has counted down (which publishes these writes)
+                    latencies[thread] = recorded;
+                    counts[thread] = count;
+                    done.countDown();
+                }
+            }, "igc-load-test-" + i));
+        }
+        threads.forEach(Thread::start);
+        done.await();
+        snapshotter.join();
+        long requests = getRequestCount(metrics.getSnapshot()) - requestsAtStart[0];
+        try {
+            igcrest.disconnect();
+        } catch (RuntimeException e) {
+            // The server failed the logout (eg. because it is injecting errors): leave the sessions to time out
+        }
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < concurrency; i++) {
+            System.arraycopy(latencies[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        return new Result(workload.name(), concurrency, sessions, durationMs, all, errors.get(), requests);
+
+    }
+
+    /**
+     * Create a new client, retrying a few times if the server fails the client's initial request (eg. because the
+     * server is injecting errors)
+     *
+     * @return IGCRestClient
+     */
+    private IGCRestClient connect() {
+        RuntimeException failure = null;
+        for (int attempt = 0; attempt < MAX_CONNECT_ATTEMPTS; attempt++) {
+            try {
+                return new IGCRestClient(baseURL, authorization);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Make a single operation of the provided workload
+     */
+    private void perform(IGCRestClient igcrest, Workload workload, ThreadLocalRandom random) {
+        switch (workload) {
+            case ASSET:
+                igcrest.getAssetById(IGCFixtures.getTermRid(random.nextInt(numAssets)));
+                break;
+            case SEARCH:
+                IGCSearch igcSearch = new IGCSearch("term");
+                igcSearch.addProperty("short_description");
+                igcSearch.addProperty("modified_on");
+                igcSearch.setPageSize(100);
+                igcrest.search(igcSearch);
+                break;
+            case ALL_PAGES:
+                Term term = (Term) igcrest.getAssetById(IGCFixtures.getTermRid(random.nextInt(numAssets)));
+                ReferenceList assignedAssets = term.getAssignedAssets();
+                assignedAssets.getAllPages(igcrest);
+                break;
+            case BULK:
+                List<String> rids = new ArrayList<>();
+                for (int i = 0; i < BULK_SIZE; i++) {
+                    rids.add(IGCFixtures.getTermRid(random.nextInt(numAssets)));
+                }
+                igcrest.getAssetsByIds("term", rids, null);
+                break;
+        }
+    }
+
+    private static long getRequestCount(IGCMetricsSnapshot snapshot) {
+        long count = 0;
+        for (IGCMetricsSnapshot.RequestStats stats : snapshot.getRequests().values()) {
+            count += stats.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * The throughput and latency achieved by a load test
+     */
+    public static class Result {
+
+        private String name;
+        private int concurrency;
+        private int sessions;
+        private long operations;
+        private long errors;
+        private long requests;
+        private double operationsPerSecond;
+        private double requestsPerSecond;
+        private double p50Ms;
+        private double p99Ms;
+        private double maxMs;
+
+        /**
+         * Creates an empty result (for deserialization)
+         */
+        public Result() { }
+
+        private Result(String name, int concurrency, int sessions, long durationMs, long[] sortedLatencies, long errors, long requests) {
+            this.name = name;
+            this.concurrency = concurrency;
+            this.sessions = sessions;
+            this.operations = sortedLatencies.length;
+            this.errors = errors;
+            this.requests = requests;
+            this.operationsPerSecond = operations * 1000.0 / durationMs;
+            this.requestsPerSecond = requests * 1000.0 / durationMs;
+            this.p50Ms = getPercentileMs(sortedLatencies, 0.50);
+            this.p99Ms = getPercentileMs(sortedLatencies, 0.99);
+            this.maxMs = (sortedLatencies.length == 0) ? 0 : sortedLatencies[sortedLatencies.length - 1] / 1e6;
+        }
+
+        private static double getPercentileMs(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+        }
+
+        /** @return String - the name of the scenario (by default, that of its workload) */
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        /** @return int - the number of threads making operations */
+        public int getConcurrency() { return concurrency; }
+        public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+
+        /** @return int - the number of sessions held by the client */
+        public int getSessions() { return sessions; }
+        public void setSessions(int sessions) { this.sessions = sessions; }
+
+        /** @return long - the number of operations that completed successfully */
+        public long getOperations() { return operations; }
+        public void setOperations(long operations) { this.operations = operations; }
+
+        /** @return long - the number of operations that failed */
+        public long getErrors() { return errors; }
+        public void setErrors(long errors) { this.errors = errors; }
+
+        /** @return long - the number of HTTP requests made by the client */
+        public long getRequests() { return requests; }
+        public void setRequests(long requests) { this.requests = requests; }
+
+        /** @return double - successful operations per second */
+        public double getOperationsPerSecond() { return operationsPerSecond; }
+        public void setOperationsPerSecond(double operationsPerSecond) { this.operationsPerSecond = operationsPerSecond; }
+
+        /** @return double - HTTP requests per second */
+        public double getRequestsPerSecond() { return requestsPerSecond; }
+        public void setRequestsPerSecond(double requestsPerSecond) { this.requestsPerSecond = requestsPerSecond; }
+
+        /** @return double - the median latency of successful operations, in milliseconds */
+        public double getP50Ms() { return p50Ms; }
+        public void setP50Ms(double p50Ms) { this.p50Ms = p50Ms; }
+
+        /** @return double - the 99th percentile latency of successful operations, in milliseconds */
+        public double getP99Ms() { return p99Ms; }
+        public void setP99Ms(double p99Ms) { this.p99Ms = p99Ms; }
+
+        /** @return double - the slowest successful operation, in milliseconds */
+        public double getMaxMs() { return maxMs; }
+        public void setMaxMs(double maxMs) { this.maxMs = maxMs; }
+
+        @Override
+        public String toString() {
+            return String.format("%-24s %5d %5d %10d %7d %10.1f %10.1f %9.2f %9.2f %9.2f",
+                    name, concurrency, sessions, operations, errors, operationsPerSecond, requestsPerSecond, p50Ms, p99Ms, maxMs);
+        }
+
+        /**
+         * Retrieve the header of the table formed by the toString of each result
+         *
+         * @return String
+         */
+        public static String getHeader() {
+            return String.format("%-24s %5s %5s %10s %7s %10s %10s %9s %9s %9s",
+                    "scenario", "thr", "sess", "ops", "errors", "ops/s", "req/s", "p50(ms)", "p99(ms)", "max(ms)");
+        }
+
+    }
+
+}
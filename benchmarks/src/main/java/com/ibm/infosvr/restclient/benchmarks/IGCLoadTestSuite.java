@@ -0,0 +1,140 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ibm.infosvr.restclient.IGCRestClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs every load test workload against a local IGCStandInServer, at several levels of concurrency, and reports the
+ * throughput and latency achieved by each. Results can be saved and later used as a baseline: any scenario whose
+ * throughput drops, or whose 99th percentile latency rises, by more than a tolerance relative to the baseline is
+ * reported as a regression (and the suite exits with a non-zero status).
+ *
+ * Options (all optional):
+ *  --latency ms       fixed latency of every response (default 20)
+ *  --jitter ms        maximum random latency added to every response (default 10)
+ *  --errors rate      proportion of requests that fail, between 0 and 1 (default 0)
+ *  --capacity n       requests the server processes concurrently, or 0 for no limit (default 0)
+ *  --sessions n       sessions held by the client (default 1)
+ *  --concurrency n,.. threads making operations in each scenario (default 1,16,64)
+ *  --workloads w,..   workloads to run (default ASSET,SEARCH,ALL_PAGES,BULK)
+ *  --warmup ms        warmup before measuring each scenario (default 2000)
+ *  --duration ms      measurement of each scenario (default 10000)
+ *  --output file      save the results as JSON
+ *  --baseline file    compare the results against those previously saved
+ *  --tolerance rate   proportion by which a scenario may be worse than its baseline (default 0.2)
+ */
+public class IGCLoadTestSuite {
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> options = getOptions(args);
+        List<Integer> concurrencies = new ArrayList<>();
+        for (String concurrency : options.getOrDefault("concurrency", "1,16,64").split(",")) {
+            concurrencies.add(Integer.parseInt(concurrency.trim()));
+        }
+        List<IGCLoadTest.Workload> workloads = new ArrayList<>();
+        for (String workload : options.getOrDefault("workloads", "ASSET,SEARCH,ALL_PAGES,BULK").split(",")) {
+            workloads.add(IGCLoadTest.Workload.valueOf(workload.trim().toUpperCase()));
+        }
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.2"));
+
+        IGCStandInServer server = new IGCStandInServer();
+        server.setLatency(Integer.parseInt(options.getOrDefault("latency", "20")), Integer.parseInt(options.getOrDefault("jitter", "10")));
+        server.setErrorRate(Double.parseDouble(options.getOrDefault("errors", "0")));
+        server.setCapacity(Integer.parseInt(options.getOrDefault("capacity", "0")));
+        server.start();
+
+        List<IGCLoadTest.Result> results = new ArrayList<>();
+        try {
+            IGCLoadTest loadTest = new IGCLoadTest(server.getBaseURL(), IGCRestClient.encodeBasicAuth("isadmin", "isadmin"));
+            loadTest.setSessions(Integer.parseInt(options.getOrDefault("sessions", "1")));
+            loadTest.setWarmupMs(Long.parseLong(options.getOrDefault("warmup", Long.toString(IGCLoadTest.DEFAULT_WARMUP_MS))));
+            loadTest.setDurationMs(Long.parseLong(options.getOrDefault("duration", Long.toString(IGCLoadTest.DEFAULT_DURATION_MS))));
+            System.out.println(IGCLoadTest.Result.getHeader());
+            for (IGCLoadTest.Workload workload : workloads) {
+                for (Integer concurrency : concurrencies) {
+                    loadTest.setConcurrency(concurrency);
+                    IGCLoadTest.Result result = loadTest.run(workload);
+                    result.setName(workload.name() + "@" + concurrency);
+                    results.add(result);
+                    System.out.println(result);
+                }
+            }
+        } finally {
+            server.stop();
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        if (options.containsKey("output")) {
+            mapper.writeValue(new File(options.get("output")), results);
+        }
+        if (options.containsKey("baseline")) {
+            List<IGCLoadTest.Result> baseline = Arrays.asList(mapper.readValue(new File(options.get("baseline")), IGCLoadTest.Result[].class));
+            List<String> regressions = getRegressions(baseline, results, tolerance);
+            for (String regression : regressions) {
+                System.out.println("REGRESSION: " + regression);
+            }
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+        }
+
+    }
+
+    /**
+     * Compare results against a baseline
+     *
+     * @param baseline - the results to compare against
+     * @param results - the results to compare
+     * @param tolerance - the proportion by which a result may be worse than its baseline
+     * @return {@code List<String>} - a description of each regression (empty if there were none)
+     */
+    public static List<String> getRegressions(List<IGCLoadTest.Result> baseline, List<IGCLoadTest.Result> results, double tolerance) {
+        Map<String, IGCLoadTest.Result> baselineByName = new HashMap<>();
+        for (IGCLoadTest.Result result : baseline) {
+            baselineByName.put(result.getName(), result);
+        }
+        List<String> regressions = new ArrayList<>();
+        for (IGCLoadTest.Result result : results) {
+            IGCLoadTest.Result before = baselineByName.get(result.getName());
+            if (before != null) {
+                if (result.getOperationsPerSecond() < before.getOperationsPerSecond() * (1 - tolerance)) {
+                    regressions.add(String.format("%s throughput %.1f ops/s (baseline %.1f ops/s)",
+                            result.getName(), result.getOperationsPerSecond(), before.getOperationsPerSecond()));
+                }
+                if (result.getP99Ms() > before.getP99Ms() * (1 + tolerance)) {
+                    regressions.add(String.format("%s p99 latency %.2f ms (baseline %.2f ms)",
+                            result.getName(), result.getP99Ms(), before.getP99Ms()));
+                }
+            }
+        }
+        return regressions;
+    }
+
+    private static Map<String, String> getOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--")) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("No value provided for option: " + args[i]);
+                }
+                options.put(args[i].substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException("Unrecognised argument: " + args[i]);
+            }
+        }
+        return options;
+    }
+
+}
@@ -0,0 +1,465 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local stand-in for the IGC REST API (v1), for testing the performance of the client without an Information Server
+ * environment. It serves:
+ *  - GET /ibm/iis/igc-rest/v1/types
+ *  - GET /ibm/iis/igc-rest/v1/assets/{rid} (terms, each with paged relationships)
+ *  - GET /ibm/iis/igc-rest/v1/assets/{rid}/{relationship}?pageSize=&amp;begin= (further pages of a relationship)
+ *  - PUT /ibm/iis/igc-rest/v1/assets/{rid}
+ *  - POST /ibm/iis/igc-rest/v1/search (searches for terms, including searches on their RIDs)
+ *  - GET /ibm/iis/igc-rest/v1/search?types=&amp;pageSize=&amp;begin= (further pages of a search)
+ *  - GET /ibm/iis/igc-rest/v1/logout
+ *
+ * Like IGC, a session is created (and identified by a cookie) whenever a request is authenticated with basic
+ * credentials, and requests from sessions that have ended (logged out or expired) are rejected as unauthorized.
+ *
+ * Every response can be delayed by a fixed latency plus random jitter, a proportion of requests can be made to fail
+ * (with 503 Service Unavailable), and the number of requests processed concurrently can be capped (further requests
+ * queue, as they would on an overloaded services tier).
+ */
+public class IGCStandInServer {
+
+    public static final int DEFAULT_NUM_ASSETS = 10000;
+    public static final int DEFAULT_NUM_RELATIONSHIPS = 100;
+
+    private static final String API = "/ibm/iis/igc-rest/v1";
+    private static final String SESSION_COOKIE = "JSESSIONID";
+
+    static {
+        // Otherwise the JDK's server leaves Nagle's algorithm on, adding ~40ms to every response on some platforms
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String baseURL;
+
+    private volatile int latencyMs = 0;
+    private volatile int jitterMs = 0;
+    private volatile double errorRate = 0;
+    private volatile Semaphore capacity = null;
+    private volatile int numAssets = DEFAULT_NUM_ASSETS;
+    private volatile int numRelationships = DEFAULT_NUM_RELATIONSHIPS;
+
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong sessionsCreated = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    /**
+     * Creates a new stand-in server on any free port (see getBaseURL)
+     *
+     * @throws IOException if the server could not be bound to a port
+     */
+    public IGCStandInServer() throws IOException {
+        this(0);
+    }
+
+    /**
+     * Creates a new stand-in server on the provided port
+     *
+     * @param port - the port on which to listen (or 0 for any free port)
+     * @throws IOException if the server could not be bound to the port
+     */
+    public IGCStandInServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "igc-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(executor);
+        this.server.createContext(API, this::handle);
+        this.baseURL = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Start serving requests
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stop serving requests, abandoning any still in flight
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Retrieve the base URL at which the server is listening (eg. to pass to an IGCRestClient)
+     *
+     * @return String
+     */
+    public String getBaseURL() {
+        return this.baseURL;
+    }
+
+    /**
+     * Set the latency added to every response
+     *
+     * @param latencyMs - the fixed delay before responding, in milliseconds
+     * @param jitterMs - the maximum random delay added to the fixed delay, in milliseconds
+     */
+    public void setLatency(int latencyMs, int jitterMs) {
+        this.latencyMs = Math.max(0, latencyMs);
+        this.jitterMs = Math.max(0, jitterMs);
+    }
+
+    /**
+     * Set the proportion of requests that fail (with 503 Service Unavailable)
+     *
+     * @param errorRate - between 0 (none) and 1 (all)
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Set the number of requests processed concurrently: any further requests wait for an earlier request to complete
+     *
+     * @param capacity - the maximum number of requests to process concurrently (or 0 for no limit)
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = (capacity > 0) ? new Semaphore(capacity, true) : null;
+    }
+
+    /**
+     * Set the number of terms that exist (and are therefore returned by searches)
+     *
+     * @param numAssets
+     */
+    public void setNumAssets(int numAssets) {
+        this.numAssets = numAssets;
+    }
+
+    /**
+     * Set the number of relationships of each kind that every term has (across all pages)
+     *
+     * @param numRelationships
+     */
+    public void setNumRelationships(int numRelationships) {
+        this.numRelationships = numRelationships;
+    }
+
+    /**
+     * Expire every current session, so that the next request through each is rejected as unauthorized
+     */
+    public void expireSessions() {
+        sessions.clear();
+    }
+
+    /**
+     * Retrieve the number of requests received
+     *
+     * @return long
+     */
+    public long getRequestCount() { return requests.get(); }
+
+    /**
+     * Retrieve the number of requests that failed (whether injected errors, unauthorized or invalid requests)
+     *
+     * @return long
+     */
+    public long getErrorCount() { return errors.get(); }
+
+    /**
+     * Retrieve the number of sessions created (ie. the number of times a client has authenticated)
+     *
+     * @return long
+     */
+    public long getSessionsCreatedCount() { return sessionsCreated.get(); }
+
+    /**
+     * Retrieve the number of sessions currently active
+     *
+     * @return int
+     */
+    public int getActiveSessionCount() { return sessions.size(); }
+
+    /**
+     * Retrieve the most requests that have been in flight at any one time
+     *
+     * @return int
+     */
+    public int getMaxInFlight() { return maxInFlight.get(); }
+
+    /**
+     * Handle a single request: authenticate it, delay it and then respond (or fail)
+     *
+     * @param exchange - the request and its response
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        Semaphore capacity = this.capacity;
+        boolean acquired = false;
+        try {
+            if (capacity != null) {
+                capacity.acquire();
+                acquired = true;
+            }
+            if (!authenticate(exchange)) {
+                respond(exchange, 401, getError("Unauthorized"));
+                return;
+            }
+            delay();
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 503, getError("Service Unavailable"));
+                return;
+            }
+            JsonNode response = route(exchange);
+            if (response == null) {
+                respond(exchange, 404, getError("Not Found"));
+            } else {
+                respond(exchange, 200, response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            respond(exchange, 400, getError("Bad Request"));
+        } finally {
+            if (acquired) {
+                capacity.release();
+            }
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    /**
+     * Authenticate a request: through its session cookie if it has one, or otherwise by creating a new session
+     * for its basic credentials
+     *
+     * @param exchange - the request and its response
+     * @return boolean - true iff the request is authenticated
+     */
+    private boolean authenticate(HttpExchange exchange) {
+        String session = getSession(exchange);
+        if (session != null) {
+            return sessions.contains(session);
+        }
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization != null && authorization.startsWith("Basic ")) {
+            session = UUID.randomUUID().toString();
+            sessions.add(session);
+            sessionsCreated.incrementAndGet();
+            exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + session + "; Path=/; HttpOnly");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Delay the response by the configured latency and jitter
+     */
+    private void delay() throws InterruptedException {
+        long delay = latencyMs + ((jitterMs > 0) ? ThreadLocalRandom.current().nextInt(jitterMs + 1) : 0);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    /**
+     * Produce the response to a request, based on its method and path
+     *
+     * @param exchange - the request and its response
+     * @return JsonNode - the response, or null if nothing exists at the requested path
+     */
+    private JsonNode route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring(API.length());
+        Map<String, String> parameters = getParameters(exchange.getRequestURI().getRawQuery());
+        if (path.equals("/types") && method.equals("GET")) {
+            return mapper.createArrayNode().add(mapper.createObjectNode().put("_id", "term").put("_name", "Term").put("_url", baseURL + API + "/types/term"));
+        } else if (path.equals("/logout") && method.equals("GET")) {
+            endSession(exchange);
+            return JsonNodeFactory.instance.objectNode();
+        } else if (path.startsWith("/search")) {
+            if (method.equals("POST")) {
+                return search(readBody(exchange));
+            } else if (method.equals("GET")) {
+                return IGCFixtures.searchResponse(baseURL,
+                        numAssets,
+                        Integer.parseInt(parameters.getOrDefault("begin", "0")),
+                        Integer.parseInt(parameters.getOrDefault("pageSize", "10")),
+                        null);
+            }
+        } else if (path.startsWith("/assets/")) {
+            String[] parts = path.substring("/assets/".length()).split("/");
+            int index = IGCFixtures.getTermIndex(parts[0]);
+            if (index < 0 || index >= numAssets) {
+                return null;
+            } else if (method.equals("PUT")) {
+                ObjectNode updated = JsonNodeFactory.instance.objectNode();
+                updated.put("_id", parts[0]);
+                updated.set("updatedProperties", readBody(exchange));
+                return updated;
+            } else if (method.equals("GET") && parts.length == 1) {
+                return IGCFixtures.assetResponse(baseURL, index, numRelationships);
+            } else if (method.equals("GET") && parts.length == 2) {
+                ObjectNode page = JsonNodeFactory.instance.objectNode();
+                page.set(parts[1], IGCFixtures.relationshipResponse(baseURL,
+                        parts[0],
+                        parts[1],
+                        numRelationships,
+                        Integer.parseInt(parameters.getOrDefault("begin", "0")),
+                        Integer.parseInt(parameters.getOrDefault("pageSize", Integer.toString(IGCFixtures.RELATIONSHIP_PAGE_SIZE)))));
+                return page;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Respond to a search: either for specific terms (by the RIDs in its conditions), or the first page of all terms
+     *
+     * @param query - the search query
+     * @return JsonNode
+     */
+    private JsonNode search(JsonNode query) {
+        List<String> properties = null;
+        if (query.path("properties").isArray() && query.path("properties").size() > 0) {
+            properties = new ArrayList<>();
+            for (JsonNode property : query.path("properties")) {
+                properties.add(property.asText());
+            }
+        }
+        int pageSize = query.path("pageSize").asInt(10);
+        boolean searchingForTerms = false;
+        for (JsonNode type : query.path("types")) {
+            searchingForTerms = searchingForTerms || type.asText().equals("term");
+        }
+        if (!searchingForTerms) {
+            return IGCFixtures.searchResponse(baseURL, new ArrayList<>(), properties);
+        }
+        Set<Integer> indexes = new LinkedHashSet<>();
+        boolean byRid = collectRids(query.path("where"), indexes);
+        if (byRid) {
+            return IGCFixtures.searchResponse(baseURL, indexes, properties);
+        }
+        return IGCFixtures.searchResponse(baseURL, numAssets, 0, pageSize, properties);
+    }
+
+    /**
+     * Collect the indexes of the terms identified by any conditions on RIDs, throughout a set of conditions
+     *
+     * @param conditions - the set of conditions of a search
+     * @param indexes - the indexes of (existing) terms identified by the conditions
+     * @return boolean - true iff there were any conditions on RIDs
+     */
+    private boolean collectRids(JsonNode conditions, Set<Integer> indexes) {
+        boolean byRid = false;
+        for (JsonNode condition : conditions.path("conditions")) {
+            if (condition.has("conditions")) {
+                byRid = collectRids(condition, indexes) || byRid;
+            } else if (condition.path("property").asText().equals("_id")) {
+                byRid = true;
+                int index = IGCFixtures.getTermIndex(condition.path("value").asText());
+                if (index >= 0 && index < numAssets) {
+                    indexes.add(index);
+                }
+            }
+        }
+        return byRid;
+    }
+
+    private void endSession(HttpExchange exchange) {
+        String session = getSession(exchange);
+        if (session != null) {
+            sessions.remove(session);
+        }
+    }
+
+    /**
+     * Retrieve the session identified by the cookies of a request
+     *
+     * @param exchange - the request and its response
+     * @return String - the session, or null if the request has no session cookie
+     */
+    private static String getSession(HttpExchange exchange) {
+        List<String> cookies = exchange.getRequestHeaders().get("Cookie");
+        if (cookies != null) {
+            // Clients may send back cookies with their attributes (eg. Path) as well, so parse them leniently
+            for (String header : cookies) {
+                for (String cookie : header.split("[;,]")) {
+                    String[] nameValue = cookie.trim().split("=", 2);
+                    if (nameValue.length == 2 && nameValue[0].equals(SESSION_COOKIE)) {
+                        return nameValue[1];
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            return mapper.readTree(body);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonNode response) throws IOException {
+        if (status != 200) {
+            errors.incrementAndGet();
+        }
+        // Always send a body (as IGC does, even for errors): the JDK's server closes the connection otherwise
+        byte[] body = mapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static JsonNode getError(String message) {
+        return JsonNodeFactory.instance.objectNode().put("errorMessage", message);
+    }
+
+    private static Map<String, String> getParameters(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                String[] keyValue = parameter.split("=", 2);
+                parameters.put(keyValue[0], (keyValue.length > 1) ? keyValue[1] : "");
+            }
+        }
+        return parameters;
+    }
+
+}
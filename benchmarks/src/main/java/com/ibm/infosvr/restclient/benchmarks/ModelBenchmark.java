@@ -0,0 +1,97 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.benchmarks;
+
+import com.ibm.infosvr.restclient.model.Identity;
+import com.ibm.infosvr.restclient.model.IdentityIndex;
+import com.ibm.infosvr.restclient.model.MainObject;
+import com.ibm.infosvr.restclient.model.Reference;
+import com.ibm.infosvr.restclient.model.ReferenceList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of working with assets once they have been read: printing them, accessing their properties
+ * dynamically by name, and constructing and comparing their identities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+    private static final String[] PROPERTIES = { "name", "short_description", "modified_on", "_context", "labels", "not_a_property" };
+
+    @Param({"10", "1000", "10000"})
+    public int items;
+
+    private ReferenceList results;
+    private List<Identity> identities;
+    private List<Identity> rebuilt;
+
+    @Setup
+    public void setup() throws IOException {
+        results = IGCFixtures.newObjectMapper()
+                .readerFor(ReferenceList.class)
+                .readValue(IGCFixtures.toBytes(IGCFixtures.searchResponse(items)));
+        identities = constructIdentities();
+        rebuilt = constructIdentities();
+    }
+
+    @Benchmark
+    public String printReferenceList() {
+        return results.toString();
+    }
+
+    @Benchmark
+    public void getPropertyByName(Blackhole blackhole) {
+        for (Reference item : results.getItems()) {
+            for (String property : PROPERTIES) {
+                blackhole.consume(item.getPropertyByName(property));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Identity> constructIdentities() {
+        List<Identity> constructed = new ArrayList<>(results.getItems().size());
+        for (Reference item : results.getItems()) {
+            MainObject asset = (MainObject) item;
+            constructed.add(new Identity(asset.getContext(), asset.getType(), asset.getTheName()));
+        }
+        return constructed;
+    }
+
+    @Benchmark
+    public IdentityIndex indexIdentities() {
+        IdentityIndex index = new IdentityIndex();
+        for (int i = 0; i < identities.size(); i++) {
+            index.put(identities.get(i), results.getItems().get(i).getId());
+        }
+        return index;
+    }
+
+    @Benchmark
+    public int compareIdentities() {
+        int equal = 0;
+        for (int i = 1; i < identities.size(); i++) {
+            Object current = identities.get(i);
+            // Neighbouring identities share all but (at most) their innermost context
+            if (current.equals(identities.get(i - 1))) {
+                equal++;
+            }
+            // An equal but separately constructed identity, so every segment must be compared
+            if (current.equals(rebuilt.get(i))) {
+                equal++;
+            }
+        }
+        return equal;
+    }
+
+}
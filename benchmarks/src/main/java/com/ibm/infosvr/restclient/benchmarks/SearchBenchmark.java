@@ -0,0 +1,83 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.infosvr.restclient.search.IGCPreparedSearch;
+import com.ibm.infosvr.restclient.search.IGCSearch;
+import com.ibm.infosvr.restclient.search.IGCSearchCondition;
+import com.ibm.infosvr.restclient.search.IGCSearchConditionSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of building the query for a search, for searches of increasing complexity: both building (and
+ * encoding) the query from an IGCSearch, and binding values into the query of an equivalent IGCPreparedSearch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int conditions;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private IGCSearch search;
+    private IGCPreparedSearch preparedSearch;
+    private String[] values;
+
+    @Setup
+    public void setup() {
+        values = new String[conditions];
+        String[] parameters = new String[conditions];
+        for (int i = 0; i < conditions; i++) {
+            values[i] = "Term " + i;
+            parameters[i] = IGCSearchCondition.parameter("name" + i);
+        }
+        search = getSearch(values);
+        preparedSearch = new IGCPreparedSearch(getSearch(parameters));
+    }
+
+    private IGCSearch getSearch(String[] names) {
+        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet();
+        IGCSearchConditionSet nested = new IGCSearchConditionSet();
+        nested.setMatchAnyCondition(true);
+        for (int i = 0; i < names.length; i++) {
+            IGCSearchCondition condition = new IGCSearchCondition("name", "like %{0}%", names[i]);
+            if (i % 2 == 0) {
+                conditionSet.addCondition(condition);
+            } else {
+                nested.addCondition(condition);
+            }
+        }
+        if (nested.size() > 0) {
+            conditionSet.addNestedConditionSet(nested);
+        }
+        IGCSearch igcSearch = new IGCSearch("term", new String[]{ "name", "short_description", "modified_on" }, conditionSet);
+        igcSearch.addType("category");
+        igcSearch.setPageSize(100);
+        return igcSearch;
+    }
+
+    @Benchmark
+    public JsonNode getQuery() {
+        return search.getQuery();
+    }
+
+    @Benchmark
+    public byte[] encodeQuery() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(search.getQuery());
+    }
+
+    @Benchmark
+    public byte[] bindPreparedSearch() {
+        return preparedSearch.bind(values);
+    }
+
+}
@@ -0,0 +1,33 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.ibm.infosvr.restclient.model.MainObject;
+import com.ibm.infosvr.restclient.model.ReferenceList;
+
+/**
+ * A minimal POJO for the "term" asset type, standing in for a generated POJO in the benchmarks.
+ */
+@JsonTypeName("term")
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class Term extends MainObject {
+
+    protected String status;
+    protected ReferenceList assigned_assets;
+    protected ReferenceList synonyms;
+
+    @JsonProperty("status")
+    public String getStatus() { return this.status; }
+    public void setStatus(String status) { this.status = status; }
+
+    @JsonProperty("assigned_assets")
+    public ReferenceList getAssignedAssets() { return this.assigned_assets; }
+    public void setAssignedAssets(ReferenceList assigned_assets) { this.assigned_assets = assigned_assets; }
+
+    @JsonProperty("synonyms")
+    public ReferenceList getSynonyms() { return this.synonyms; }
+    public void setSynonyms(ReferenceList synonyms) { this.synonyms = synonyms; }
+
+}
@@ -0,0 +1,318 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import com.ibm.infosvr.restclient.metrics.IGCRequestType;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Limits the number of requests an IGCRestClient has in flight at any one time, adapting the limit to the load the
+ * services tier can sustain (additive-increase, multiplicative-decrease). Requests are only limited once a limiter
+ * is set on the client (see IGCRestClient.setConcurrencyLimiter).
+ *
+ * Response times are averaged over windows of requests, separately for each kind of request (as eg. a search is
+ * naturally far slower than retrieving a single asset). While requests are queueing for the limit and the average
+ * response time of a kind of request remains within a tolerance of the fastest average seen for that kind (its
+ * baseline), the limit is increased by one request per window; as soon as the average exceeds that tolerance -- or
+ * any request fails in a way that indicates the services tier is overloaded (server errors, 429s, timeouts, I/O
+ * errors) -- the limit is reduced by a fixed proportion. The limit therefore settles around the level of concurrency
+ * beyond which the services tier only queues requests (increasing their latency) rather than processing more of them.
+ *
+ * Allowing a request through and recording its completion take no locks: the number of requests in flight is only
+ * ever changed by compare-and-set, and the statistics of each window are accumulated atomically.
+ */
+public class IGCAdaptiveLimiter {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final double DEFAULT_BACKOFF = 0.9;
+    public static final double DEFAULT_TOLERANCE = 1.5;
+
+    private static final int MIN_WINDOW_SIZE = 10;
+    private static final double BASELINE_DECAY = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoff;
+    private final double tolerance;
+
+    // The limit is held as the bits of a double, so that it can be reduced by a proportion less than one request
+    private final AtomicLong limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<CompletableFuture<Void>> waiting = new ConcurrentLinkedQueue<>();
+    private final Map<IGCRequestType, Window> windows;
+
+    /**
+     * Creates a new limiter using the default limits, backoff and tolerance
+     */
+    public IGCAdaptiveLimiter() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_BACKOFF, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Creates a new limiter
+     *
+     * @param initialLimit - the number of requests to allow in flight to begin with
+     * @param minLimit - the fewest requests to ever allow in flight
+     * @param maxLimit - the most requests to ever allow in flight
+     * @param backoff - the proportion (between 0 and 1) of the limit to retain whenever it is reduced
+     * @param tolerance - the multiple of the baseline response time beyond which the limit is reduced
+     */
+    public IGCAdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double backoff, double tolerance) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoff = backoff;
+        this.tolerance = tolerance;
+        this.limit = new AtomicLong(Double.doubleToLongBits(Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit))));
+        Map<IGCRequestType, Window> byType = new EnumMap<>(IGCRequestType.class);
+        for (IGCRequestType type : IGCRequestType.values()) {
+            byType.put(type, new Window());
+        }
+        this.windows = Collections.unmodifiableMap(byType);
+    }
+
+    /**
+     * Wait until a request can be sent, within the current limit
+     */
+    public void acquire() {
+        acquireAsync().join();
+    }
+
+    /**
+     * Retrieve a future that completes as soon as a request can be sent, within the current limit; requests waiting
+     * to be sent are allowed through in the order in which they started waiting (cancelling the future gives up
+     * waiting)
+     *
+     * @return {@code CompletableFuture<Void>}
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        if (waiting.isEmpty() && tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        markSaturated();
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        waiting.add(permit);
+        // A request may have completed since we failed to acquire, so make sure the queue is not left waiting
+        startWaiting();
+        return permit;
+    }
+
+    /**
+     * Record that a request (allowed through by acquire or acquireAsync) has completed, adapting the limit based on
+     * how long it took and whether it indicated the services tier is overloaded
+     *
+     * @param requestType - the kind of request that completed
+     * @param elapsedNanos - the time the request took (excluding any time spent waiting to be sent)
+     * @param overloaded - whether the request failed in a way that indicates overload (see isOverload)
+     */
+    public void release(IGCRequestType requestType, long elapsedNanos, boolean overloaded) {
+        if (inFlight.getAndDecrement() >= getLimit()) {
+            markSaturated();
+        }
+        if (overloaded) {
+            decrease();
+        } else {
+            Window window = windows.get((requestType == null) ? IGCRequestType.OTHER : requestType);
+            window.totalNanos.addAndGet(elapsedNanos);
+            int samples = window.samples.incrementAndGet();
+            // Only the request that fills the window (and resets its count) ends it
+            if (samples >= Math.max(MIN_WINDOW_SIZE, getLimit()) && window.samples.compareAndSet(samples, 0)) {
+                endWindow(window, samples);
+            }
+        }
+        if (!waiting.isEmpty()) {
+            startWaiting();
+        }
+    }
+
+    /**
+     * Record that a request (of no particular kind) has completed, adapting the limit based on how long it took and
+     * whether it indicated the services tier is overloaded
+     *
+     * @param elapsedNanos - the time the request took (excluding any time spent waiting to be sent)
+     * @param overloaded - whether the request failed in a way that indicates overload (see isOverload)
+     */
+    public void release(long elapsedNanos, boolean overloaded) {
+        release(IGCRequestType.OTHER, elapsedNanos, overloaded);
+    }
+
+    /**
+     * Return the place of a request (allowed through by acquire or acquireAsync) that was cancelled, without using
+     * it to adapt the limit
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+        if (!waiting.isEmpty()) {
+            startWaiting();
+        }
+    }
+
+    /**
+     * Take a place in flight, if there is room for one within the current limit
+     *
+     * @return boolean - true if a place was taken
+     */
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Allow through as many waiting requests as there is now room for, in the order in which they started waiting
+     */
+    private void startWaiting() {
+        while (!waiting.isEmpty() && tryAcquire()) {
+            CompletableFuture<Void> permit = waiting.poll();
+            if (permit == null) {
+                // Another thread allowed the last waiting request through first
+                inFlight.decrementAndGet();
+            } else if (!permit.complete(null)) {
+                // The request gave up waiting (was cancelled), so pass its place on
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Adapt the limit based on the average response time of the window of requests just completed
+     *
+     * @param window - the window of requests just completed
+     * @param samples - the number of requests in the window
+     */
+    private void endWindow(Window window, int samples) {
+        double average = (double) window.totalNanos.getAndSet(0) / samples;
+        double baseline = window.baselineNanos;
+        if (baseline == 0 || average < baseline) {
+            baseline = average;
+        } else {
+            // Drift slowly towards the current average, so the baseline follows any lasting change in the services
+            // tier (or in the mix of requests being made)
+            baseline += (average - baseline) * BASELINE_DECAY;
+        }
+        window.baselineNanos = baseline;
+        if (average > baseline * tolerance) {
+            decrease();
+        } else if (window.saturated.getAndSet(false)) {
+            updateLimit(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    /**
+     * Reduce the limit (multiplicatively)
+     */
+    private void decrease() {
+        updateLimit(current -> Math.max(minLimit, current * backoff));
+    }
+
+    private void updateLimit(DoubleUnaryOperator update) {
+        limit.updateAndGet(bits -> Double.doubleToLongBits(update.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+
+    /**
+     * Record (in every window) that requests have had to wait for the limit
+     */
+    private void markSaturated() {
+        for (Window window : windows.values()) {
+            window.saturated.set(true);
+        }
+    }
+
+    /**
+     * Returns true iff the provided error indicates that the services tier is overloaded
+     *
+     * @param error - the error from a request (or null if the request succeeded)
+     * @return boolean
+     */
+    public static boolean isOverload(Throwable error) {
+        Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+        return cause instanceof HttpServerErrorException
+                || cause instanceof ResourceAccessException
+                || cause instanceof IOException
+                || cause instanceof TimeoutException
+                || (cause instanceof HttpClientErrorException
+                    && ((HttpClientErrorException) cause).getStatusCode() == HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * Retrieve the number of requests currently allowed in flight at any one time
+     *
+     * @return int
+     */
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(this.limit.get());
+    }
+
+    /**
+     * Retrieve the number of requests currently in flight
+     *
+     * @return int
+     */
+    public int getInFlightCount() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * Retrieve the number of requests currently waiting to be sent
+     *
+     * @return int
+     */
+    public int getQueueDepth() {
+        return this.waiting.size();
+    }
+
+    /**
+     * Returns true iff any requests are currently waiting to be sent
+     *
+     * @return boolean
+     */
+    public boolean hasWaiting() {
+        return !this.waiting.isEmpty();
+    }
+
+    /**
+     * Retrieve the baseline (fastest average) response time of the provided kind of request, in milliseconds
+     *
+     * @param requestType - the kind of request
+     * @return double - or 0 if no window of requests of that kind has completed yet
+     */
+    public double getBaselineMs(IGCRequestType requestType) {
+        return this.windows.get(requestType).baselineNanos / 1000000;
+    }
+
+    /**
+     * The statistics of the current window of requests of a single kind
+     */
+    private static final class Window {
+
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicInteger samples = new AtomicInteger();
+        private final AtomicBoolean saturated = new AtomicBoolean();
+        private volatile double baselineNanos = 0;
+
+    }
+
+}
@@ -0,0 +1,261 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An optional, client-side cache of retrieved assets, keyed by the Repository ID (RID) of each asset along with the
+ * set of properties (projection) and form (eg. POJO or JSON) in which it was retrieved.
+ *
+ * The cache holds no more than a maximum number of entries, evicting the least-recently used entry to make room
+ * for any new entry, and any entry older than the time-to-live is treated as missing. Entries for an asset can be
+ * explicitly invalidated (and are automatically invalidated by the IGCRestClient whenever it updates that asset).
+ *
+ * The cache holds the (serialized) JSON of each asset rather than the asset object itself, so that every retrieval
+ * from the cache creates a new object: changes made to an object retrieved from the cache (eg. retrieving all of its
+ * relationships) are never seen by any other retrieval of the same asset.
+ */
+public class IGCAssetCache {
+
+    public static final String ALL_PROPERTIES = "*";
+
+    private final int maxEntries;
+    private final long ttlMs;
+
+    private final LinkedHashMap<Key, Entry> entries;
+    private final Map<String, Set<Key>> keysByRid;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Creates a new cache
+     *
+     * @param maxEntries - the maximum number of entries to hold, after which the least-recently used are evicted
+     * @param ttlMs - the number of milliseconds for which an entry remains valid (or 0 for no expiry)
+     */
+    public IGCAssetCache(int maxEntries, long ttlMs) {
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.keysByRid = new HashMap<>();
+    }
+
+    /**
+     * Retrieve an asset from the cache
+     *
+     * @param rid - the Repository ID of the asset
+     * @param projection - the properties with which the asset was retrieved (see getProjection)
+     * @param type - the form in which the asset was retrieved (eg. Reference or JsonNode)
+     * @return byte[] - the (UTF-8 encoded) JSON of the cached asset, or null if it is not (or no longer) cached
+     */
+    public byte[] get(String rid, String projection, Class<?> type) {
+        Key key = new Key(rid, projection, type);
+        byte[] value = null;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (ttlMs > 0 && System.currentTimeMillis() - entry.created > ttlMs) {
+                    remove(key);
+                    expirations.incrementAndGet();
+                } else {
+                    value = entry.value;
+                }
+            }
+        }
+        if (value == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Add an asset to the cache
+     *
+     * @param rid - the Repository ID of the asset
+     * @param projection - the properties with which the asset was retrieved (see getProjection)
+     * @param type - the form in which the asset was retrieved (eg. Reference or JsonNode)
+     * @param value - the (UTF-8 encoded) JSON of the asset
+     */
+    public void put(String rid, String projection, Class<?> type, byte[] value) {
+        if (rid == null || value == null) {
+            return;
+        }
+        Key key = new Key(rid, projection, type);
+        synchronized (this) {
+            entries.put(key, new Entry(value));
+            keysByRid.computeIfAbsent(rid, k -> new HashSet<>()).add(key);
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                Key toEvict = eldest.next().getKey();
+                eldest.remove();
+                removeFromIndex(toEvict);
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Remove every cached form and projection of the asset with the provided RID
+     *
+     * @param rid - the Repository ID of the asset
+     */
+    public synchronized void invalidate(String rid) {
+        Set<Key> keys = keysByRid.remove(rid);
+        if (keys != null) {
+            for (Key key : keys) {
+                entries.remove(key);
+            }
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Remove everything from the cache
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        keysByRid.clear();
+    }
+
+    private void remove(Key key) {
+        entries.remove(key);
+        removeFromIndex(key);
+    }
+
+    private void removeFromIndex(Key key) {
+        Set<Key> keys = keysByRid.get(key.rid);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByRid.remove(key.rid);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the projection (cache key) for the provided set of properties
+     *
+     * @param properties - the properties with which an asset is retrieved (or null for all properties)
+     * @return String
+     */
+    public static String getProjection(Collection<String> properties) {
+        if (properties == null) {
+            return ALL_PROPERTIES;
+        }
+        return String.join(",", new TreeSet<>(properties));
+    }
+
+    /**
+     * Retrieve the number of entries currently in the cache
+     *
+     * @return int
+     */
+    public synchronized int size() { return entries.size(); }
+
+    /**
+     * Retrieve the maximum number of entries the cache will hold
+     *
+     * @return int
+     */
+    public int getMaxEntries() { return maxEntries; }
+
+    /**
+     * Retrieve the number of retrievals that were found in the cache
+     *
+     * @return long
+     */
+    public long getHitCount() { return hits.get(); }
+
+    /**
+     * Retrieve the number of retrievals that were not found in the cache
+     *
+     * @return long
+     */
+    public long getMissCount() { return misses.get(); }
+
+    /**
+     * Retrieve the number of entries evicted to make room for new entries
+     *
+     * @return long
+     */
+    public long getEvictionCount() { return evictions.get(); }
+
+    /**
+     * Retrieve the number of entries removed because they outlived the time-to-live
+     *
+     * @return long
+     */
+    public long getExpirationCount() { return expirations.get(); }
+
+    /**
+     * Retrieve the number of assets that have been invalidated
+     *
+     * @return long
+     */
+    public long getInvalidationCount() { return invalidations.get(); }
+
+    /**
+     * Retrieve the proportion of retrievals that were found in the cache
+     *
+     * @return double - between 0 and 1
+     */
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return (total == 0) ? 0 : (double) hits.get() / total;
+    }
+
+    private static final class Key {
+
+        private final String rid;
+        private final String projection;
+        private final Class<?> type;
+        private final int hash;
+
+        private Key(String rid, String projection, Class<?> type) {
+            this.rid = rid;
+            this.projection = projection;
+            this.type = type;
+            this.hash = Objects.hash(rid, projection, type);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return rid.equals(other.rid) && Objects.equals(projection, other.projection) && type == other.type;
+        }
+
+        @Override
+        public int hashCode() { return hash; }
+
+    }
+
+    private static final class Entry {
+
+        private final byte[] value;
+        private final long created;
+
+        private Entry(byte[] value) {
+            this.value = value;
+            this.created = System.currentTimeMillis();
+        }
+
+    }
+
+}
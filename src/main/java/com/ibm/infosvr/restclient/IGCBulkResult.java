@@ -0,0 +1,88 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import com.ibm.infosvr.restclient.model.Reference;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The results of retrieving a number of assets by their Repository IDs (RIDs) in bulk: the assets that were found
+ * (keyed by RID, in the order in which they were requested) and the RIDs for which no asset was found.
+ */
+public class IGCBulkResult {
+
+    private Map<String, Reference> assets;
+    private Set<String> missing;
+
+    /**
+     * Creates a new set of results, in which every one of the provided RIDs is initially missing
+     *
+     * @param requested - the RIDs that were requested
+     */
+    public IGCBulkResult(Collection<String> requested) {
+        this.assets = new LinkedHashMap<>();
+        this.missing = new LinkedHashSet<>(requested);
+        for (String rid : missing) {
+            this.assets.put(rid, null);
+        }
+    }
+
+    /**
+     * Record an asset that was found (no longer missing)
+     *
+     * @param asset - the asset that was found
+     */
+    void addAsset(Reference asset) {
+        if (this.missing.remove(asset.getId())) {
+            this.assets.put(asset.getId(), asset);
+        }
+    }
+
+    /**
+     * Retrieve all of the assets that were found, keyed by RID (in the order in which they were requested)
+     *
+     * @return {@code Map<String, Reference>}
+     */
+    public Map<String, Reference> getAssets() {
+        Map<String, Reference> found = new LinkedHashMap<>();
+        for (Map.Entry<String, Reference> entry : assets.entrySet()) {
+            if (entry.getValue() != null) {
+                found.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Retrieve the asset that was found for the provided RID
+     *
+     * @param rid - the Repository ID of the asset
+     * @return Reference - the asset, or null if it was not found (or not requested)
+     */
+    public Reference getAsset(String rid) {
+        return assets.get(rid);
+    }
+
+    /**
+     * Retrieve the RIDs that were requested, but for which no asset was found
+     *
+     * @return {@code Set<String>}
+     */
+    public Set<String> getMissingIds() {
+        return missing;
+    }
+
+    /**
+     * Returns true iff an asset was found for every RID that was requested
+     *
+     * @return Boolean
+     */
+    public Boolean isComplete() {
+        return missing.isEmpty();
+    }
+
+}
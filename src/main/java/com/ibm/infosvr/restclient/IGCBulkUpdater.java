@@ -0,0 +1,228 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Applies many updates to assets, with a bounded number of updates in flight at any one time.
+ *
+ * Updates are sent as soon as they are received (up to the limit of updates in flight), rather than waiting for all
+ * updates to be received. Any further updates to an asset that are received before its earlier update has been sent
+ * are coalesced into that update where this cannot change the outcome: when they update different properties, or both
+ * append to the same relationship (whose items are then combined). Otherwise the further update waits to be sent
+ * after the earlier one. Updates to the same asset are never sent concurrently, so are always applied in the order in
+ * which they were received.
+ */
+public class IGCBulkUpdater {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 8;
+
+    private IGCRestClient igcrest;
+    private IGCRequestLimiter limiter;
+
+    private Map<String, AssetUpdates> updatesByRid = new HashMap<>();
+
+    /**
+     * Creates a new updater that will send no more than the default number of updates concurrently
+     *
+     * @param igcrest - the IGCRestClient connection to use to send the updates
+     */
+    public IGCBulkUpdater(IGCRestClient igcrest) {
+        this(igcrest, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Creates a new updater that will send no more than the provided number of updates concurrently
+     *
+     * @param igcrest - the IGCRestClient connection to use to send the updates
+     * @param maxInFlight - the maximum number of updates to have in flight at any one time
+     */
+    public IGCBulkUpdater(IGCRestClient igcrest, int maxInFlight) {
+        this.igcrest = igcrest;
+        this.limiter = new IGCRequestLimiter(maxInFlight);
+    }
+
+    /**
+     * Update the asset specified by the provided RID with the value(s) provided
+     *
+     * @param rid - the Repository ID of the asset to update
+     * @param value - the JSON structure defining what value(s) of the asset to update (and mode)
+     * @return {@code CompletableFuture<JsonNode>} - the JSON structure indicating the updated asset's RID and updates
+     *  made, by the request that included this update
+     */
+    public CompletableFuture<JsonNode> update(String rid, JsonNode value) {
+        AssetUpdates toSend = null;
+        CompletableFuture<JsonNode> result;
+        synchronized (this) {
+            AssetUpdates updates = updatesByRid.computeIfAbsent(rid, AssetUpdates::new);
+            PendingUpdate last = updates.pending.peekLast();
+            if (last == null || !coalesce(last.value, value)) {
+                last = new PendingUpdate(value.deepCopy());
+                updates.pending.add(last);
+            }
+            if (!updates.submitted) {
+                updates.submitted = true;
+                toSend = updates;
+            }
+            result = last.result;
+        }
+        if (toSend != null) {
+            send(toSend);
+        }
+        return result;
+    }
+
+    /**
+     * Coalesce an update into an earlier update (that has not yet been sent), if both can be sent as a single request
+     * without changing their outcome: each property must be updated by only one of them, unless both append to the
+     * same relationship (in which case the items they append are combined)
+     *
+     * @param pending - the earlier update, into which to coalesce the update
+     * @param value - the update to coalesce
+     * @return boolean - true if the update was coalesced, false if it must instead be sent after the earlier update
+     */
+    private static boolean coalesce(JsonNode pending, JsonNode value) {
+        if (!pending.isObject() || !value.isObject()) {
+            return false;
+        }
+        for (Iterator<String> properties = value.fieldNames(); properties.hasNext(); ) {
+            String property = properties.next();
+            if (pending.has(property) && !(isAppend(pending.get(property)) && isAppend(value.get(property)))) {
+                return false;
+            }
+        }
+        ObjectNode coalesced = (ObjectNode) pending;
+        value.fields().forEachRemaining(update -> {
+            JsonNode existing = coalesced.get(update.getKey());
+            if (existing == null) {
+                coalesced.set(update.getKey(), update.getValue().deepCopy());
+            } else {
+                ((ArrayNode) existing.get("items")).addAll(((ArrayNode) update.getValue().get("items")).deepCopy());
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Returns true iff the provided value of a property appends items to a relationship (rather than replacing it)
+     *
+     * @param value - the value of the property in an update
+     * @return boolean
+     */
+    private static boolean isAppend(JsonNode value) {
+        return value.isObject() && "append".equals(value.path("mode").asText()) && value.path("items").isArray();
+    }
+
+    /**
+     * Update every asset specified by the provided pairs of RID and value(s)
+     *
+     * @param updates - the updates to make, keyed by the Repository ID of the asset to update
+     * @return {@code Map<String, CompletableFuture<JsonNode>>} - for each asset (keyed by RID, in the order in which
+     *  they were received), the result of the last request made to update it once every request made to update it
+     *  has completed; this fails if any of those requests fails
+     */
+    public Map<String, CompletableFuture<JsonNode>> updateAll(Stream<Map.Entry<String, JsonNode>> updates) {
+        Map<String, Set<CompletableFuture<JsonNode>>> requestsByRid = new LinkedHashMap<>();
+        updates.forEachOrdered(update -> requestsByRid
+                .computeIfAbsent(update.getKey(), rid -> new LinkedHashSet<>())
+                .add(update(update.getKey(), update.getValue())));
+        Map<String, CompletableFuture<JsonNode>> results = new LinkedHashMap<>();
+        requestsByRid.forEach((rid, requests) -> {
+            if (requests.size() == 1) {
+                results.put(rid, requests.iterator().next());
+            } else {
+                // Updates that could not be coalesced were sent as separate requests, any of which may fail
+                CompletableFuture<?>[] all = requests.toArray(new CompletableFuture<?>[0]);
+                CompletableFuture<JsonNode> last = requests.stream().reduce((first, second) -> second).get();
+                results.put(rid, CompletableFuture.allOf(all).thenCompose(done -> last));
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Send the next pending update of an asset once there is room for another update to be in flight, and then any
+     * further updates to the asset waiting behind it
+     *
+     * @param updates - the updates to the asset
+     */
+    private void send(AssetUpdates updates) {
+        limiter.submit(() -> {
+            PendingUpdate next;
+            synchronized (this) {
+                // Take the update only now, so that anything coalesced into it while waiting is included
+                next = updates.pending.poll();
+            }
+            return igcrest.updateJsonAsync(updates.rid, next.value).whenComplete((sent, error) -> {
+                if (error != null) {
+                    next.result.completeExceptionally(error);
+                } else {
+                    next.result.complete(sent);
+                }
+            });
+        }).whenComplete((sent, error) -> {
+            boolean sendNext;
+            synchronized (this) {
+                sendNext = !updates.pending.isEmpty();
+                if (!sendNext) {
+                    updatesByRid.remove(updates.rid);
+                }
+            }
+            if (sendNext) {
+                send(updates);
+            }
+        });
+    }
+
+    /**
+     * Retrieve the number of assets with updates in flight or waiting to be sent
+     *
+     * @return int
+     */
+    public synchronized int getPendingCount() {
+        return updatesByRid.size();
+    }
+
+    /**
+     * The updates to a single asset: the updates waiting to be sent (in order), and whether an update is in flight
+     */
+    private static final class AssetUpdates {
+
+        private final String rid;
+        private final Deque<PendingUpdate> pending = new ArrayDeque<>();
+        private boolean submitted = false;
+
+        private AssetUpdates(String rid) {
+            this.rid = rid;
+        }
+
+    }
+
+    /**
+     * A single update waiting to be sent (possibly coalesced from several updates), and its eventual result
+     */
+    private static final class PendingUpdate {
+
+        private final JsonNode value;
+        private final CompletableFuture<JsonNode> result = new CompletableFuture<>();
+
+        private PendingUpdate(JsonNode value) {
+            this.value = value;
+        }
+
+    }
+
+}
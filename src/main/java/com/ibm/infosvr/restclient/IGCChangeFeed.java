@@ -0,0 +1,222 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import com.ibm.infosvr.restclient.model.MainObject;
+import com.ibm.infosvr.restclient.model.Reference;
+import com.ibm.infosvr.restclient.search.IGCSearch;
+import com.ibm.infosvr.restclient.search.IGCSearchCondition;
+import com.ibm.infosvr.restclient.search.IGCSearchConditionSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Incrementally synchronizes assets of some types from IGC: each run emits only those assets created or modified
+ * since the previous run, rather than every asset.
+ *
+ * For each type, a watermark records the latest modification time (modified_on) of any asset already emitted, along
+ * with the Repository IDs (RIDs) of the assets modified at exactly that time. A run searches for assets modified at
+ * or after the watermark, in ascending order of modification time, and skips those assets already emitted at the
+ * watermark itself (so that assets modified within the same millisecond, whether emitted in an earlier run or not,
+ * are neither missed nor repeated). Rather than paging through the results by position (which shifts whenever an
+ * asset is modified during the run, so that other assets could be skipped), the search is repeated from the latest
+ * modification time emitted after each page; only a page whose assets were all modified within the same millisecond
+ * is followed by the next page of the same search. Once every asset of a type has been emitted, its watermark is
+ * advanced by atomically replacing the watermark file, so a run that fails part-way is simply repeated from the same
+ * watermark.
+ *
+ * Assets are therefore emitted at least once: an asset modified while a run is in progress may be emitted again by
+ * the next run, as may every asset modified in the same millisecond as the watermark when there are too many of
+ * them to record. The types must be registered as POJOs extending MainObject (see IGCRestClient.registerPOJO), so
+ * that the modification time of each asset can be read.
+ */
+public class IGCChangeFeed {
+
+    private static final String MODIFIED_ON = "modified_on";
+
+    // The most RIDs to record at the watermark, beyond which none are recorded (so those assets are emitted again)
+    private static final int MAX_RIDS_AT_WATERMARK = 1000;
+
+    private IGCRestClient igcrest;
+    private File watermarkFile;
+    private List<String> types;
+    private Set<String> properties = new LinkedHashSet<>(Arrays.asList("name", "modified_on", "modified_by"));
+    private int pageSize = 100;
+
+    /**
+     * Creates a new change feed for the provided types, whose watermarks are persisted to the provided file
+     *
+     * @param igcrest - the IGCRestClient connection to use to search for changes
+     * @param watermarkFile - the file in which to persist the watermarks (created by the first run)
+     * @param types - the asset types to synchronize
+     */
+    public IGCChangeFeed(IGCRestClient igcrest, File watermarkFile, String... types) {
+        this.igcrest = igcrest;
+        this.watermarkFile = watermarkFile;
+        this.types = Arrays.asList(types);
+    }
+
+    /**
+     * Add a property to retrieve for each asset emitted (name, modified_on and modified_by are always retrieved)
+     *
+     * @param property - the name of the property to retrieve
+     */
+    public void addProperty(String property) {
+        this.properties.add(property);
+    }
+
+    /**
+     * Set the number of assets to retrieve in each page of results
+     *
+     * @param size
+     */
+    public void setPageSize(int size) {
+        this.pageSize = size;
+    }
+
+    /**
+     * Retrieve the watermark of the provided type: the latest modification time of any asset already emitted
+     *
+     * @param type - the asset type
+     * @return Date - or null if no asset of the type has yet been emitted
+     * @throws IOException if the watermarks could not be read
+     */
+    public Date getWatermark(String type) throws IOException {
+        String modifiedOn = loadWatermarks().getProperty(type + "." + MODIFIED_ON);
+        return (modifiedOn == null) ? null : new Date(Long.parseLong(modifiedOn));
+    }
+
+    /**
+     * Emit every asset of each type created or modified since the previous run, advancing the watermark of each type
+     * once all of its assets have been emitted
+     *
+     * @param consumer - the consumer to which to emit each asset (if it throws an exception, the run is abandoned
+     *                 without advancing the watermark of the type being synchronized)
+     * @return long - the number of assets emitted
+     * @throws IOException if the watermarks could not be read or persisted
+     */
+    public synchronized long sync(Consumer<MainObject> consumer) throws IOException {
+        long numEmitted = 0;
+        for (String type : types) {
+            Properties watermarks = loadWatermarks();
+            String modifiedOn = watermarks.getProperty(type + "." + MODIFIED_ON);
+            long watermark = (modifiedOn == null) ? Long.MIN_VALUE : Long.parseLong(modifiedOn);
+            Set<String> emittedAtWatermark = new LinkedHashSet<>();
+            String rids = watermarks.getProperty(type + ".rids", "");
+            if (!rids.isEmpty()) {
+                emittedAtWatermark.addAll(Arrays.asList(rids.split(",")));
+            }
+
+            long latest = watermark;
+            Set<String> emittedAtLatest = new LinkedHashSet<>(emittedAtWatermark);
+            boolean more = true;
+            while (more) {
+                more = false;
+                long searchedFrom = latest;
+                int numResults = 0;
+                for (Reference result : igcrest.iterate(getSearch(type, latest))) {
+                    if (!(result instanceof MainObject)) {
+                        throw new IllegalStateException("No POJO extending MainObject is registered for type: " + result.getType());
+                    }
+                    MainObject asset = (MainObject) result;
+                    long assetModifiedOn = (asset.getModifiedOn() == null) ? Long.MIN_VALUE : asset.getModifiedOn().getTime();
+                    numResults++;
+                    if (assetModifiedOn > latest) {
+                        latest = assetModifiedOn;
+                        emittedAtLatest.clear();
+                    }
+                    if (assetModifiedOn == latest && emittedAtLatest.add(asset.getId())) {
+                        consumer.accept(asset);
+                        numEmitted++;
+                    }
+                    if (numResults >= pageSize && latest > searchedFrom) {
+                        // Search again from the latest modification time, rather than moving to the next page
+                        more = true;
+                        break;
+                    }
+                }
+            }
+
+            if (latest != Long.MIN_VALUE && (latest != watermark || emittedAtLatest.size() != emittedAtWatermark.size())) {
+                if (emittedAtLatest.size() > MAX_RIDS_AT_WATERMARK) {
+                    // Too many to record, so the assets modified at the watermark will simply be emitted again
+                    emittedAtLatest.clear();
+                }
+                watermarks.setProperty(type + "." + MODIFIED_ON, Long.toString(latest));
+                watermarks.setProperty(type + ".rids", String.join(",", emittedAtLatest));
+                saveWatermarks(watermarks);
+            }
+        }
+        return numEmitted;
+    }
+
+    /**
+     * Retrieve the search for the assets of the provided type modified at or after the provided time, in ascending
+     * order of modification time
+     *
+     * @param type - the asset type
+     * @param from - the time (in milliseconds since the epoch), or Long.MIN_VALUE to search for every asset
+     * @return IGCSearch
+     */
+    private IGCSearch getSearch(String type, long from) {
+        IGCSearch igcSearch = new IGCSearch();
+        igcSearch.addType(type);
+        for (String property : properties) {
+            igcSearch.addProperty(property);
+        }
+        if (from != Long.MIN_VALUE) {
+            igcSearch.addConditions(new IGCSearchConditionSet(new IGCSearchCondition(MODIFIED_ON, ">=", Long.toString(from))));
+        }
+        igcSearch.addSortingCriteria(MODIFIED_ON, true);
+        igcSearch.setPageSize(pageSize);
+        return igcSearch;
+    }
+
+    private Properties loadWatermarks() throws IOException {
+        Properties watermarks = new Properties();
+        if (watermarkFile.exists()) {
+            try (InputStream in = Files.newInputStream(watermarkFile.toPath())) {
+                watermarks.load(in);
+            }
+        }
+        return watermarks;
+    }
+
+    /**
+     * Persist the provided watermarks, by writing them to a temporary file that then atomically replaces the
+     * watermark file (so that the watermark file is never left partially written)
+     *
+     * @param watermarks - the watermarks to persist
+     * @throws IOException if the watermarks could not be persisted
+     */
+    private void saveWatermarks(Properties watermarks) throws IOException {
+        Path target = watermarkFile.toPath().toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                watermarks.store(out, "IGC change feed watermarks");
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * A point in time by which an operation must complete -- including every request made as part of that operation
+ * (eg. every page of results retrieved by getAllPages).
+ *
+ * Once the deadline passes the operation fails (with a TimeoutException) rather than waiting on any request still in
+ * flight, and no further requests are started on its behalf.
+ */
+public class IGCDeadline {
+
+    private final long deadlineNanos;
+
+    /**
+     * Creates a new deadline the provided number of milliseconds from now
+     *
+     * @param timeoutMs - the number of milliseconds from now by which the operation must complete
+     */
+    public IGCDeadline(long timeoutMs) {
+        this.deadlineNanos = System.nanoTime() + timeoutMs * 1000000;
+    }
+
+    /**
+     * Retrieve the number of milliseconds remaining until the deadline
+     *
+     * @return long - or 0 if the deadline has passed
+     */
+    public long getRemainingMs() {
+        return Math.max(0, getRemainingNanos() / 1000000);
+    }
+
+    /**
+     * Returns true iff the deadline has passed
+     *
+     * @return boolean
+     */
+    public boolean isExpired() {
+        return getRemainingNanos() <= 0;
+    }
+
+    private long getRemainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Start the provided request only if the deadline has not yet passed, and bound its result by the deadline
+     *
+     * @param request - the request to start
+     * @param <T> - the type of the request's result
+     * @return {@code CompletableFuture<T>} - the eventual result of the request, or a TimeoutException if the deadline
+     *  passes first
+     */
+    public <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> request) {
+        if (isExpired()) {
+            return expired();
+        }
+        return bound(request.get());
+    }
+
+    /**
+     * Bound the provided (in-flight) request by the deadline
+     *
+     * @param request - the request to bound
+     * @param <T> - the type of the request's result
+     * @return {@code CompletableFuture<T>} - the eventual result of the request, or a TimeoutException if the deadline
+     *  passes first
+     */
+    public <T> CompletableFuture<T> bound(CompletableFuture<T> request) {
+        if (request.isDone()) {
+            return request;
+        }
+        long remaining = getRemainingNanos();
+        if (remaining <= 0) {
+            return expired();
+        }
+        CompletableFuture<T> bounded = new CompletableFuture<>();
+        // Fail on a pooled thread, so that whatever depends on the operation does not run on the shared timer thread
+        ScheduledFuture<?> timer = IGCTimer.schedule(
+                () -> ForkJoinPool.commonPool().execute(() -> bounded.completeExceptionally(newTimeoutException())),
+                remaining);
+        request.whenComplete((value, error) -> {
+            timer.cancel(false);
+            if (error != null) {
+                bounded.completeExceptionally(error);
+            } else {
+                bounded.complete(value);
+            }
+        });
+        return bounded;
+    }
+
+    private <T> CompletableFuture<T> expired() {
+        CompletableFuture<T> expired = new CompletableFuture<>();
+        expired.completeExceptionally(newTimeoutException());
+        return expired;
+    }
+
+    private static TimeoutException newTimeoutException() {
+        return new TimeoutException("The deadline for the operation passed before it completed.");
+    }
+
+}
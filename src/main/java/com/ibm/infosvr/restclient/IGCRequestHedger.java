@@ -0,0 +1,235 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hedges idempotent requests (GETs) against the occasional stall in the services tier: if a request has not received
+ * a response within the time in which most requests do (a percentile of recent response times), a duplicate request
+ * is sent and whichever responds first is used.
+ *
+ * Only requests slower than the percentile are duplicated (eg. roughly 5% of requests for the 95th percentile), so
+ * the additional load on the services tier is bounded, while the worst response times are cut to roughly the
+ * percentile plus a typical response time. Response times are measured from when each request is actually sent (not
+ * while it waits for any limiter), no duplicate is sent while the client's limiter has requests queueing, and
+ * whichever request loses is cancelled.
+ */
+public class IGCRequestHedger {
+
+    public static final double DEFAULT_PERCENTILE = 0.95;
+    public static final long DEFAULT_MIN_DELAY_MS = 10;
+
+    private static final int MAX_SAMPLES = 1000;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECALCULATE_EVERY = 50;
+
+    private final double percentile;
+    private final long minDelayNanos;
+
+    private final long[] samples = new long[MAX_SAMPLES];
+    private int numSamples = 0;
+    private int nextSample = 0;
+    private int sinceCalculated = 0;
+    private long delayNanos = -1;
+
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+
+    /**
+     * Creates a new hedger that duplicates requests slower than the default percentile of response times
+     */
+    public IGCRequestHedger() {
+        this(DEFAULT_PERCENTILE, DEFAULT_MIN_DELAY_MS);
+    }
+
+    /**
+     * Creates a new hedger
+     *
+     * @param percentile - the percentile (between 0 and 1) of response times after which to duplicate a request
+     * @param minDelayMs - the fewest milliseconds to ever wait before duplicating a request
+     */
+    public IGCRequestHedger(double percentile, long minDelayMs) {
+        this.percentile = percentile;
+        this.minDelayNanos = minDelayMs * 1000000;
+    }
+
+    /**
+     * Start the provided (idempotent) request, and start it again if it has not responded within the hedging delay
+     *
+     * @param request - the request to start (potentially more than once)
+     * @param <T> - the type of the request's result
+     * @return {@code CompletableFuture<T>} - the result of whichever request responds successfully first
+     */
+    public <T> CompletableFuture<T> hedge(Supplier<CompletableFuture<T>> request) {
+        return hedge(sent -> {
+            sent.run();
+            return request.get();
+        }, () -> true);
+    }
+
+    /**
+     * Start the provided (idempotent) request, and start it again if it has not responded within the hedging delay
+     * of being sent; whichever request does not respond first is then cancelled
+     *
+     * @param request - starts the request (potentially more than once), running the provided callback at the moment
+     *                the request is actually sent (eg. once allowed through by a limiter) -- its response time, and
+     *                the hedging delay, are measured from that moment
+     * @param mayHedge - whether a duplicate may be started when one is due (eg. not while requests are queueing)
+     * @param <T> - the type of the request's result
+     * @return {@code CompletableFuture<T>} - the result of whichever request responds successfully first
+     */
+    public <T> CompletableFuture<T> hedge(Function<Runnable, CompletableFuture<T>> request, BooleanSupplier mayHedge) {
+        long delay = getDelayNanos();
+        AtomicLong sentAt = new AtomicLong();
+        if (delay < 0) {
+            // Not yet enough response times to know when a request is unusually slow
+            CompletableFuture<T> primary = start(request, () -> sentAt.set(System.nanoTime()));
+            primary.whenComplete(recordFrom(sentAt));
+            return primary;
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        Queue<CompletableFuture<T>> attempts = new ConcurrentLinkedQueue<>();
+        AtomicReference<ScheduledFuture<?>> timer = new AtomicReference<>();
+        CompletableFuture<T> primary = start(request, () -> {
+            sentAt.set(System.nanoTime());
+            timer.set(IGCTimer.schedule(() -> {
+                if (!result.isDone() && mayHedge.getAsBoolean()) {
+                    outstanding.incrementAndGet();
+                    hedged.incrementAndGet();
+                    CompletableFuture<T> hedge = start(request, () -> {});
+                    attempts.add(hedge);
+                    hedge.whenComplete(completeFirst(result, outstanding, true));
+                    if (result.isDone()) {
+                        // The original responded while the duplicate was being started
+                        hedge.cancel(true);
+                    }
+                }
+            }, delay));
+        });
+        attempts.add(primary);
+        primary.whenComplete(recordFrom(sentAt));
+        primary.whenComplete(completeFirst(result, outstanding, false));
+        result.whenComplete((value, error) -> {
+            ScheduledFuture<?> scheduled = timer.get();
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            for (CompletableFuture<T> attempt : attempts) {
+                attempt.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Record the response time of a successful request, measured from when it was sent
+     *
+     * @param sentAt - the time (System.nanoTime) at which the request was sent, or 0 if it was never sent
+     * @param <T> - the type of the request's result
+     * @return {@code BiConsumer<T, Throwable>}
+     */
+    private <T> BiConsumer<T, Throwable> recordFrom(AtomicLong sentAt) {
+        return (value, error) -> {
+            long sent = sentAt.get();
+            if (error == null && sent != 0) {
+                record(System.nanoTime() - sent);
+            }
+        };
+    }
+
+    /**
+     * Complete the result with the first successful response, or with the last failure if every request fails
+     *
+     * @param result - the result to complete
+     * @param outstanding - the number of requests that have not yet responded
+     * @param isHedge - whether the response is to the duplicate request
+     * @param <T> - the type of the request's result
+     * @return {@code BiConsumer<T, Throwable>}
+     */
+    private <T> BiConsumer<T, Throwable> completeFirst(CompletableFuture<T> result, AtomicInteger outstanding, boolean isHedge) {
+        return (value, error) -> {
+            if (error == null) {
+                if (result.complete(value) && isHedge) {
+                    hedgesWon.incrementAndGet();
+                }
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        };
+    }
+
+    private static <T> CompletableFuture<T> start(Function<Runnable, CompletableFuture<T>> request, Runnable onSent) {
+        try {
+            return request.apply(onSent);
+        } catch (RuntimeException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    /**
+     * Record the response time of a successful request
+     *
+     * @param elapsedNanos - the time the request took
+     */
+    private synchronized void record(long elapsedNanos) {
+        samples[nextSample] = elapsedNanos;
+        nextSample = (nextSample + 1) % MAX_SAMPLES;
+        numSamples = Math.min(numSamples + 1, MAX_SAMPLES);
+        sinceCalculated++;
+    }
+
+    /**
+     * Retrieve the time to wait before duplicating a request (re-calculated periodically from recent response times)
+     *
+     * @return long - the delay in nanoseconds, or -1 if there are not yet enough response times to know
+     */
+    private synchronized long getDelayNanos() {
+        if (numSamples >= MIN_SAMPLES && (delayNanos < 0 || sinceCalculated >= RECALCULATE_EVERY)) {
+            long[] sorted = Arrays.copyOf(samples, numSamples);
+            Arrays.sort(sorted);
+            int index = Math.min(numSamples - 1, (int) Math.ceil(percentile * numSamples) - 1);
+            delayNanos = Math.max(minDelayNanos, sorted[Math.max(0, index)]);
+            sinceCalculated = 0;
+        }
+        return delayNanos;
+    }
+
+    /**
+     * Retrieve the time currently waited before duplicating a request
+     *
+     * @return long - the delay in milliseconds, or -1 if there are not yet enough response times to know
+     */
+    public long getDelayMs() {
+        long delay = getDelayNanos();
+        return (delay < 0) ? -1 : delay / 1000000;
+    }
+
+    /**
+     * Retrieve the number of requests that have been duplicated
+     *
+     * @return long
+     */
+    public long getHedgedCount() { return hedged.get(); }
+
+    /**
+     * Retrieve the number of duplicated requests that responded before the original request
+     *
+     * @return long
+     */
+    public long getHedgesWonCount() { return hedgesWon.get(); }
+
+}
@@ -0,0 +1,134 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of asynchronous requests in flight at any one time: requests submitted beyond the limit wait
+ * (without tying up a thread) and are started, in the order in which they were submitted, as earlier requests
+ * complete.
+ */
+public class IGCRequestLimiter {
+
+    private int maxInFlight;
+
+    private int inFlight = 0;
+    private Deque<Runnable> waiting = new ArrayDeque<>();
+
+    // The number of completed requests whose places are still to be passed on, and whether a thread is doing so
+    private int completed = 0;
+    private boolean draining = false;
+
+    /**
+     * Creates a new limiter
+     *
+     * @param maxInFlight - the maximum number of requests to have in flight at any one time
+     */
+    public IGCRequestLimiter(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * Start the provided request as soon as fewer than the maximum number of requests are in flight
+     *
+     * @param request - the request to start
+     * @param <T> - the type of the request's result
+     * @return {@code CompletableFuture<T>} - the eventual result of the request
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletableFuture<T> started;
+            try {
+                started = request.get();
+            } catch (RuntimeException e) {
+                started = new CompletableFuture<>();
+                started.completeExceptionally(e);
+            }
+            started.whenComplete((value, error) -> {
+                startNext();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+        boolean startNow;
+        synchronized (this) {
+            startNow = (inFlight < maxInFlight);
+            if (startNow) {
+                inFlight++;
+            } else {
+                waiting.add(start);
+            }
+        }
+        if (startNow) {
+            start.run();
+        }
+        return result;
+    }
+
+    /**
+     * Start the next waiting request (if any), now that a request has completed: waiting requests are started in a
+     * loop by a single thread at a time, so that requests completing as soon as they are started (eg. from a cache) do
+     * not each start the next in a deeper recursion
+     */
+    private void startNext() {
+        synchronized (this) {
+            completed++;
+            if (draining) {
+                // The thread already starting waiting requests will start one more
+                return;
+            }
+            draining = true;
+        }
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                if (completed == 0) {
+                    draining = false;
+                    return;
+                }
+                completed--;
+                next = waiting.poll();
+                if (next == null) {
+                    inFlight--;
+                    continue;
+                }
+            }
+            next.run();
+        }
+    }
+
+    /**
+     * Retrieve the maximum number of requests to have in flight at any one time
+     *
+     * @return int
+     */
+    public int getMaxInFlight() {
+        return this.maxInFlight;
+    }
+
+    /**
+     * Retrieve the number of requests currently in flight
+     *
+     * @return int
+     */
+    public synchronized int getInFlightCount() {
+        return this.inFlight;
+    }
+
+    /**
+     * Retrieve the number of requests waiting to be started
+     *
+     * @return int
+     */
+    public synchronized int getWaitingCount() {
+        return this.waiting.size();
+    }
+
+}
@@ -2,28 +2,64 @@
 package com.ibm.infosvr.restclient;
 
 import javax.net.ssl.*;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.NamedType;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.ibm.infosvr.restclient.metrics.IGCMetrics;
+import com.ibm.infosvr.restclient.metrics.IGCRequestType;
 import com.ibm.infosvr.restclient.model.*;
+import com.ibm.infosvr.restclient.search.IGCPreparedSearch;
 import com.ibm.infosvr.restclient.search.IGCSearch;
+import com.ibm.infosvr.restclient.search.IGCSearchCondition;
+import com.ibm.infosvr.restclient.search.IGCSearchConditionSet;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
 import org.springframework.util.Base64Utils;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
 
 public class IGCRestClient {
 
@@ -34,10 +70,23 @@ public class IGCRestClient {
 
     private String authorization;
     private String baseURL;
-    private Boolean workflowEnabled = false;
-    private List<String> cookies = null;
+    private volatile boolean workflowEnabled = false;
+    private final IGCSessionPool sessions = new IGCSessionPool();
 
-    private ObjectMapper mapper;
+    // Replaced (never modified) whenever a POJO is registered, so that requests in flight are unaffected
+    private volatile ObjectMapper mapper;
+    private List<NamedType> registeredTypes = Collections.emptyList();
+
+    private IGCRestTransport transport;
+    private boolean ownsTransport;
+    private volatile Executor asyncExecutor = ForkJoinPool.commonPool();
+    private volatile int bulkChunkSize = 100;
+    private volatile int bulkConcurrency = 8;
+    private volatile IGCAssetCache assetCache = null;
+    private volatile IGCSnapshotStore snapshotStore = null;
+    private volatile IGCAdaptiveLimiter concurrencyLimiter = null;
+    private volatile IGCRequestHedger requestHedger = null;
+    private volatile IGCMetrics metrics = null;
 
     // TODO: pickup the URL and authorization information from a properties file, by default
     public IGCRestClient() {
@@ -48,14 +97,28 @@ public class IGCRestClient {
      * Default constructor used by the IGCRestClient.
      *
      * Creates a new session on the server and retains the cookies to re-use the same session for the life
-     * of the client (or until the session times out); whichever occurs first
+     * of the client (re-authenticating automatically whenever the session times out)
      */
     public IGCRestClient(String baseURL, String authorization) {
+        this(baseURL, authorization, null);
+    }
+
+    /**
+     * Creates a new session on the server over the provided transport, and retains the cookies to re-use the same
+     * session for the life of the client (re-authenticating automatically whenever the session times out)
+     *
+     * @param baseURL - the base URL of the Information Server environment (eg. https://myenv.myhost.com:9446)
+     * @param authorization - the Basic-encoded authorization information (see encodeBasicAuth)
+     * @param transport - the pooled HTTP transport to use (or null to create one owned by this client)
+     */
+    public IGCRestClient(String baseURL, String authorization, IGCRestTransport transport) {
 
         this.baseURL = baseURL;
         this.authorization = authorization;
-        this.mapper = new ObjectMapper();
-        this.mapper.enableDefaultTyping();
+        this.ownsTransport = (transport == null);
+        this.transport = this.ownsTransport ? new IGCRestTransport() : transport;
+        this.mapper = newObjectMapper(registeredTypes);
+        this.sessions.setLogout(this::logoutAsync);
 
         // Run a simple initial query to obtain a session and setup the cookies
         if (this.baseURL != null && this.authorization != null) {
@@ -75,7 +138,7 @@ public class IGCRestClient {
 
     }
 
-    private HttpHeaders getHttpHeaders() {
+    private HttpHeaders getHttpHeaders(List<String> cookies) {
 
         HttpHeaders headers = new HttpHeaders();
         headers.add(HttpHeaders.CACHE_CONTROL, "no-cache");
@@ -93,16 +156,28 @@ public class IGCRestClient {
 
     }
 
-    // TODO: would be good to find a way to identify when session times out and automatically re-authenticate
-    private void setCookiesFromResponse(ResponseEntity<String> response) {
-        if (response.getStatusCode() == HttpStatus.OK) {
-            HttpHeaders headers = response.getHeaders();
+    private void setCookiesFromResponse(IGCSessionPool.Session session, HttpStatus status, HttpHeaders headers) {
+        if (status == HttpStatus.OK) {
             if (headers.get(HttpHeaders.SET_COOKIE) != null) {
-                this.cookies = headers.get(HttpHeaders.SET_COOKIE);
+                session.setCookies(headers.get(HttpHeaders.SET_COOKIE));
             }
         }
     }
 
+    /**
+     * Returns true iff the provided error indicates that the session through which the request was made (using the
+     * provided cookies) has timed out, and the request should therefore be retried with a re-authenticated session
+     *
+     * @param error - the error received for the request
+     * @param cookies - the cookies with which the request was made
+     * @return boolean
+     */
+    private static boolean isSessionTimeout(Throwable error, List<String> cookies) {
+        return cookies != null
+                && error instanceof HttpClientErrorException
+                && ((HttpClientErrorException) error).getStatusCode() == HttpStatus.UNAUTHORIZED;
+    }
+
     /**
      * General pattern for making requests
      *
@@ -112,25 +187,575 @@ public class IGCRestClient {
      * @return JsonNode JSON structure of the response
      */
     protected JsonNode _makeRequest(String endpoint, HttpMethod method, JsonNode payload) {
-        HttpEntity<String> toSend = new HttpEntity<>(getHttpHeaders());
-        if (payload != null) {
-            toSend = new HttpEntity<>(payload.toString(), getHttpHeaders());
-        }
-        ResponseEntity<String> response = new RestTemplate().exchange(
-                endpoint,
-                method,
-                toSend,
-                String.class);
-        setCookiesFromResponse(response);
-        JsonNode jsonNode = null;
-        if (response.hasBody()) {
+        return _makeRequest(endpoint, method, payload, JsonNode.class, null);
+    }
+
+    /**
+     * General pattern for making requests whose response should be read directly into a Java object: the response
+     * is parsed as it streams in, without first being buffered as a String or JSON tree
+     *
+     * @param endpoint - the URL against which to make the request
+     * @param method - HttpMethod (GET, POST, etc)
+     * @param payload - if POSTing some content, the JSON structure providing what should be POSTed
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read (eg. "/assigned_assets"), or null for all of it
+     * @param <T> - the type of the response object
+     * @return T - the object read from the response, or null if there was no response
+     */
+    protected <T> T _makeRequest(String endpoint, HttpMethod method, JsonNode payload, Class<T> type, String jsonPointer) {
+        return _makeEncodedRequest(endpoint, method, encodePayload(payload), type, jsonPointer);
+    }
+
+    /**
+     * General pattern for making requests whose payload has already been encoded (eg. by an IGCPreparedSearch): the
+     * payload is sent as-is, without any further serialization
+     *
+     * @param endpoint - the URL against which to make the request
+     * @param method - HttpMethod (GET, POST, etc)
+     * @param payload - if POSTing some content, the (UTF-8 encoded) JSON that should be POSTed
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read (eg. "/assigned_assets"), or null for all of it
+     * @param <T> - the type of the response object
+     * @return T - the object read from the response, or null if there was no response
+     */
+    protected <T> T _makeEncodedRequest(String endpoint, HttpMethod method, byte[] payload, Class<T> type, String jsonPointer) {
+        IGCAdaptiveLimiter limiter = this.concurrencyLimiter;
+        if (limiter != null) {
+            limiter.acquire();
+        }
+        return _recordRequest(getRequestType(endpoint, method), limiter, () -> {
+            IGCSessionPool.Session session = sessions.lease();
             try {
-                jsonNode = mapper.readTree(response.getBody());
+                return _makeRequest(session, endpoint, method, payload, type, jsonPointer);
+            } finally {
+                sessions.release(session);
+            }
+        });
+    }
+
+    /**
+     * Make a request, recording it in any metrics and (once it completes) releasing it to the provided limiter
+     *
+     * @param requestType - the kind of request
+     * @param limiter - the limiter that allowed the request through (or null if it was not limited)
+     * @param request - makes the request
+     * @param <T> - the type of the response object
+     * @return T - the object read from the response, or null if there was no response
+     */
+    private <T> T _recordRequest(IGCRequestType requestType, IGCAdaptiveLimiter limiter, Supplier<T> request) {
+        IGCMetrics metrics = this.metrics;
+        if (metrics != null) {
+            metrics.requestStarted(requestType);
+        }
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return request.get();
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (limiter != null) {
+                limiter.release(requestType, elapsed, IGCAdaptiveLimiter.isOverload(error));
+            }
+            if (metrics != null) {
+                recordCompletion(metrics, requestType, elapsed, error);
+            }
+        }
+    }
+
+    /**
+     * Make an asynchronous request, recording it in any metrics
+     *
+     * @param requestType - the kind of request
+     * @param request - starts the request
+     * @param <T> - the type of the response object
+     * @return {@code CompletableFuture<T>} - the eventual object read from the response (null if no response)
+     */
+    private <T> CompletableFuture<T> _recordRequestAsync(IGCRequestType requestType, Supplier<CompletableFuture<T>> request) {
+        IGCMetrics metrics = this.metrics;
+        if (metrics == null) {
+            return request.get();
+        }
+        metrics.requestStarted(requestType);
+        long start = System.nanoTime();
+        CompletableFuture<T> started;
+        try {
+            started = request.get();
+        } catch (RuntimeException e) {
+            started = new CompletableFuture<>();
+            started.completeExceptionally(e);
+        }
+        return started.whenComplete((value, error) -> recordCompletion(metrics, requestType, System.nanoTime() - start, error));
+    }
+
+    /**
+     * Make a request through the provided session, re-authenticating (and retrying the request once) if the session
+     * has timed out
+     *
+     * @param session - the session through which to make the request
+     * @param endpoint - the URL against which to make the request
+     * @param method - HttpMethod (GET, POST, etc)
+     * @param payload - if POSTing some content, the (UTF-8 encoded) JSON that should be POSTed
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read, or null for all of it
+     * @param <T> - the type of the response object
+     * @return T - the object read from the response, or null if there was no response
+     */
+    private <T> T _makeRequest(IGCSessionPool.Session session, String endpoint, HttpMethod method, byte[] payload, Class<T> type, String jsonPointer) {
+        List<String> cookies = session.acquireCookies().join();
+        try {
+            return _executeRequest(session, cookies, endpoint, method, payload, type, jsonPointer);
+        } catch (HttpClientErrorException e) {
+            if (isSessionTimeout(e, cookies)) {
+                session.invalidate(cookies);
+                return _executeRequest(session, session.acquireCookies().join(), endpoint, method, payload, type, jsonPointer);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Make a single attempt at a request through the provided session, using the provided cookies (or Basic
+     * authentication if there are no cookies, in which case the request must be the one authenticating the session)
+     *
+     * @param session - the session through which to make the request
+     * @param cookies - the cookies to send with the request (or null to authenticate)
+     * @param endpoint - the URL against which to make the request
+     * @param method - HttpMethod (GET, POST, etc)
+     * @param payload - if POSTing some content, the (UTF-8 encoded) JSON that should be POSTed
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read, or null for all of it
+     * @param <T> - the type of the response object
+     * @return T - the object read from the response, or null if there was no response
+     */
+    private <T> T _executeRequest(IGCSessionPool.Session session, List<String> cookies, String endpoint, HttpMethod method, byte[] payload, Class<T> type, String jsonPointer) {
+        RequestCallback requestCallback = request -> {
+            request.getHeaders().putAll(getHttpHeaders(cookies));
+            if (payload != null) {
+                request.getBody().write(payload);
+            }
+        };
+        ResponseExtractor<T> responseExtractor = response -> {
+            setCookiesFromResponse(session, response.getStatusCode(), response.getHeaders());
+            return readResponse(response.getBody(), type, jsonPointer, getRequestType(endpoint, method));
+        };
+        try {
+            return transport.getRestTemplate().execute(endpoint, method, requestCallback, responseExtractor);
+        } finally {
+            if (cookies == null) {
+                session.endAuthentication();
+            }
+        }
+    }
+
+    /**
+     * General pattern for making asynchronous requests: the request is sent (and its response received) by the
+     * non-blocking HTTP engine of the transport without tying up a thread while waiting, and the response is then
+     * read into a Java object using the client's asynchronous executor
+     *
+     * @param endpoint - the URL against which to make the request
+     * @param method - HttpMethod (GET, POST, etc)
+     * @param payload - if POSTing some content, the JSON structure providing what should be POSTed
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read (eg. "/assigned_assets"), or null for all of it
+     * @param <T> - the type of the response object
+     * @return {@code CompletableFuture<T>} - the eventual object read from the response (null if no response)
+     */
+    protected <T> CompletableFuture<T> _makeRequestAsync(String endpoint, HttpMethod method, JsonNode payload, Class<T> type, String jsonPointer) {
+        byte[] encoded;
+        try {
+            encoded = encodePayload(payload);
+        } catch (RuntimeException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return _makeEncodedRequestAsync(endpoint, method, encoded, type, jsonPointer);
+    }
+
+    /**
+     * General pattern for making asynchronous requests whose payload has already been encoded (eg. by an
+     * IGCPreparedSearch): the payload is sent as-is, without any further serialization
+     *
+     * @param endpoint - the URL against which to make the request
+     * @param method - HttpMethod (GET, POST, etc)
+     * @param payload - if POSTing some content, the (UTF-8 encoded) JSON that should be POSTed
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read (eg. "/assigned_assets"), or null for all of it
+     * @param <T> - the type of the response object
+     * @return {@code CompletableFuture<T>} - the eventual object read from the response (null if no response)
+     */
+    protected <T> CompletableFuture<T> _makeEncodedRequestAsync(String endpoint, HttpMethod method, byte[] payload, Class<T> type, String jsonPointer) {
+        return _sendRequestAsync(endpoint, method, payload, type, jsonPointer, null);
+    }
+
+    /**
+     * Send an asynchronous request as soon as any limiter allows it through
+     *
+     * @param endpoint - the URL against which to make the request
+     * @param method - HttpMethod (GET, POST, etc)
+     * @param payload - if POSTing some content, the (UTF-8 encoded) JSON that should be POSTed
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read (eg. "/assigned_assets"), or null for all of it
+     * @param onSent - called at the moment the request is sent (once allowed through by any limiter), or null
+     * @param <T> - the type of the response object
+     * @return {@code CompletableFuture<T>} - the eventual object read from the response (null if no response);
+     *         cancelling it stops the request being sent (if still waiting for the limiter) or aborts it
+     */
+    private <T> CompletableFuture<T> _sendRequestAsync(String endpoint, HttpMethod method, byte[] payload, Class<T> type, String jsonPointer, Runnable onSent) {
+        IGCAdaptiveLimiter limiter = this.concurrencyLimiter;
+        CompletableFuture<Void> permit = (limiter == null) ? CompletableFuture.completedFuture(null) : limiter.acquireAsync();
+        IGCMetrics metrics = this.metrics;
+        IGCRequestType requestType = getRequestType(endpoint, method);
+        CompletableFuture<T> outcome = new CompletableFuture<>();
+        outcome.whenComplete((value, error) -> {
+            if (outcome.isCancelled()) {
+                // Give up the request's place in the queue, if it is still waiting for the limiter
+                permit.cancel(false);
+            }
+        });
+        permit.thenAccept(granted -> {
+            if (outcome.isDone()) {
+                // Cancelled just as it was allowed through, so return its place unused
+                if (limiter != null) {
+                    limiter.release();
+                }
+                return;
+            }
+            if (metrics != null) {
+                metrics.requestStarted(requestType);
+            }
+            if (onSent != null) {
+                onSent.run();
+            }
+            long start = System.nanoTime();
+            IGCSessionPool.Session session = sessions.lease();
+            _makeRequestAsync(session, endpoint, method, payload, type, jsonPointer, outcome)
+                    .whenComplete((value, error) -> {
+                        long elapsed = System.nanoTime() - start;
+                        sessions.release(session);
+                        if (limiter != null) {
+                            if (outcome.isCancelled()) {
+                                // An aborted request says nothing about how long requests take
+                                limiter.release();
+                            } else {
+                                limiter.release(requestType, elapsed, IGCAdaptiveLimiter.isOverload(error));
+                            }
+                        }
+                        if (metrics != null) {
+                            recordCompletion(metrics, requestType, elapsed, error);
+                        }
+                        if (error != null) {
+                            outcome.completeExceptionally((error instanceof CompletionException) ? error.getCause() : error);
+                        } else {
+                            outcome.complete(value);
+                        }
+                    });
+        });
+        return outcome;
+    }
+
+    /**
+     * General pattern for making idempotent (GET) requests, which are hedged if a request hedger is set
+     *
+     * @param endpoint - the URL against which to make the request
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read, or null for all of it
+     * @param <T> - the type of the response object
+     * @return T - the object read from the response, or null if there was no response
+     */
+    protected <T> T _makeGetRequest(String endpoint, Class<T> type, String jsonPointer) {
+        if (this.requestHedger == null) {
+            return _makeRequest(endpoint, HttpMethod.GET, null, type, jsonPointer);
+        }
+        return waitFor(_makeGetRequestAsync(endpoint, type, jsonPointer));
+    }
+
+    /**
+     * General pattern for making asynchronous idempotent (GET) requests, which are hedged if a request hedger is set
+     *
+     * @param endpoint - the URL against which to make the request
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read, or null for all of it
+     * @param <T> - the type of the response object
+     * @return {@code CompletableFuture<T>} - the eventual object read from the response (null if no response)
+     */
+    protected <T> CompletableFuture<T> _makeGetRequestAsync(String endpoint, Class<T> type, String jsonPointer) {
+        IGCRequestHedger hedger = this.requestHedger;
+        if (hedger == null) {
+            return _makeRequestAsync(endpoint, HttpMethod.GET, null, type, jsonPointer);
+        }
+        // Time (and hedge) each request only from when it is sent, and never add a duplicate while others are queueing
+        IGCAdaptiveLimiter limiter = this.concurrencyLimiter;
+        return hedger.hedge(onSent -> _sendRequestAsync(endpoint, HttpMethod.GET, null, type, jsonPointer, onSent),
+                () -> limiter == null || !limiter.hasWaiting());
+    }
+
+    /**
+     * Make an asynchronous request through the provided session, re-authenticating (and retrying the request once) if
+     * the session has timed out
+     *
+     * @param session - the session through which to make the request
+     * @param endpoint - the URL against which to make the request
+     * @param method - HttpMethod (GET, POST, etc)
+     * @param payload - if POSTing some content, the (UTF-8 encoded) JSON that should be POSTed
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read, or null for all of it
+     * @param cancelSignal - a future whose cancellation aborts the request
+     * @param <T> - the type of the response object
+     * @return {@code CompletableFuture<T>} - the eventual object read from the response (null if no response)
+     */
+    private <T> CompletableFuture<T> _makeRequestAsync(IGCSessionPool.Session session, String endpoint, HttpMethod method, byte[] payload, Class<T> type, String jsonPointer, CompletableFuture<?> cancelSignal) {
+        return session.acquireCookies().thenCompose(cookies -> _executeRequestAsync(session, cookies, endpoint, method, payload, type, jsonPointer, cancelSignal)
+                .handle((value, error) -> {
+                    Throwable cause = (error instanceof CompletionException) ? error.getCause() : error;
+                    if (isSessionTimeout(cause, cookies)) {
+                        session.invalidate(cookies);
+                        return session.acquireCookies().thenCompose(renewed -> _executeRequestAsync(session, renewed, endpoint, method, payload, type, jsonPointer, cancelSignal));
+                    }
+                    CompletableFuture<T> result = new CompletableFuture<>();
+                    if (error != null) {
+                        result.completeExceptionally(cause);
+                    } else {
+                        result.complete(value);
+                    }
+                    return result;
+                })
+                .thenCompose(result -> result));
+    }
+
+    /**
+     * Make a single asynchronous attempt at a request through the provided session, using the provided cookies (or
+     * Basic authentication if there are no cookies, in which case the request must be the one authenticating the
+     * session)
+     *
+     * @param session - the session through which to make the request
+     * @param cookies - the cookies to send with the request (or null to authenticate)
+     * @param endpoint - the URL against which to make the request
+     * @param method - HttpMethod (GET, POST, etc)
+     * @param payload - if POSTing some content, the (UTF-8 encoded) JSON that should be POSTed
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read, or null for all of it
+     * @param cancelSignal - a future whose cancellation aborts the request, or null
+     * @param <T> - the type of the response object
+     * @return {@code CompletableFuture<T>} - the eventual object read from the response (null if no response)
+     */
+    private <T> CompletableFuture<T> _executeRequestAsync(IGCSessionPool.Session session, List<String> cookies, String endpoint, HttpMethod method, byte[] payload, Class<T> type, String jsonPointer, CompletableFuture<?> cancelSignal) {
+        CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+        try {
+            RequestBuilder requestBuilder = RequestBuilder.create(method.name()).setUri(endpoint);
+            getHttpHeaders(cookies).forEach((name, values) -> values.forEach(value -> requestBuilder.addHeader(name, value)));
+            if (payload != null) {
+                requestBuilder.setEntity(new ByteArrayEntity(payload));
+            }
+            Future<HttpResponse> exchange = transport.getAsyncClient().execute(requestBuilder.build(), new FutureCallback<HttpResponse>() {
+                public void completed(HttpResponse result) { response.complete(result); }
+                public void failed(Exception ex) { response.completeExceptionally(ex); }
+                public void cancelled() { response.cancel(false); }
+            });
+            if (cancelSignal != null) {
+                cancelSignal.whenComplete((value, error) -> {
+                    if (cancelSignal.isCancelled()) {
+                        exchange.cancel(true);
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            response.completeExceptionally(e);
+        }
+        CompletableFuture<T> outcome = response.thenApplyAsync(result -> {
+            StatusLine statusLine = result.getStatusLine();
+            HttpStatus status = HttpStatus.resolve(statusLine.getStatusCode());
+            if (status == null) {
+                throw new UnknownHttpStatusCodeException(statusLine.getStatusCode(), statusLine.getReasonPhrase(), null, null, null);
+            } else if (status.is5xxServerError()) {
+                throw new HttpServerErrorException(status, statusLine.getReasonPhrase());
+            } else if (status.is4xxClientError()) {
+                throw new HttpClientErrorException(status, statusLine.getReasonPhrase());
+            }
+            HttpHeaders headers = new HttpHeaders();
+            for (Header header : result.getAllHeaders()) {
+                headers.add(header.getName(), header.getValue());
+            }
+            setCookiesFromResponse(session, status, headers);
+            T value = null;
+            if (result.getEntity() != null) {
+                try {
+                    value = readResponse(result.getEntity().getContent(), type, jsonPointer, getRequestType(endpoint, method));
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }
+            return value;
+        }, asyncExecutor);
+        if (cookies == null) {
+            outcome.whenComplete((value, error) -> session.endAuthentication());
+        }
+        return outcome;
+    }
+
+    /**
+     * Encode the provided JSON payload (once, up-front, so that it is not re-serialized for any retry of the request)
+     *
+     * @param payload - the JSON structure to encode, or null if there is no payload
+     * @return byte[] - the UTF-8 encoded JSON, or null if there is no payload
+     */
+    private byte[] encodePayload(JsonNode payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return mapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to encode the request payload", e);
+        }
+    }
+
+    /**
+     * Determine the kind of request (for metrics) from its URL and method
+     *
+     * @param endpoint - the URL against which the request is made
+     * @param method - HttpMethod (GET, POST, etc)
+     * @return IGCRequestType
+     */
+    private static IGCRequestType getRequestType(String endpoint, HttpMethod method) {
+        if (method == HttpMethod.PUT) {
+            return IGCRequestType.UPDATE;
+        } else if (endpoint.contains(SEARCH)) {
+            // Subsequent pages of a search are retrieved via GET (the search itself is POSTed)
+            return (method == HttpMethod.GET) ? IGCRequestType.NEXT_PAGE : IGCRequestType.SEARCH;
+        } else if (endpoint.contains(ASSET)) {
+            // Subsequent pages of an asset's relationship are retrieved via a paged URL under the asset
+            return endpoint.contains("?") ? IGCRequestType.NEXT_PAGE : IGCRequestType.ASSET;
+        } else if (endpoint.contains(TYPES)) {
+            return IGCRequestType.TYPES;
+        } else if (endpoint.contains(LOGOUT)) {
+            return IGCRequestType.LOGOUT;
+        }
+        return IGCRequestType.OTHER;
+    }
+
+    /**
+     * Record the completion (successful or not) of a request
+     *
+     * @param metrics - the metrics into which to record the completion
+     * @param requestType - the kind of request
+     * @param elapsedNanos - the time the request took
+     * @param error - the reason the request failed, or null if it succeeded
+     */
+    private static void recordCompletion(IGCMetrics metrics, IGCRequestType requestType, long elapsedNanos, Throwable error) {
+        if (error == null) {
+            metrics.requestCompleted(requestType, elapsedNanos);
+        } else {
+            Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+            metrics.requestFailed(requestType, elapsedNanos, cause);
+        }
+    }
+
+    /**
+     * Stream the provided response body directly into an object of the provided type
+     *
+     * @param body - the response body
+     * @param type - the class into which to read the response
+     * @param jsonPointer - the portion of the response to read, or null for all of it
+     * @param requestType - the kind of request to which this is the response (for metrics)
+     * @param <T> - the type of the response object
+     * @return T - the object read from the response, or null if there was nothing to read
+     * @throws UncheckedIOException if the response could not be read into the provided type
+     */
+    private <T> T readResponse(InputStream body, Class<T> type, String jsonPointer, IGCRequestType requestType) {
+        T result = null;
+        if (body != null) {
+            ObjectMapper mapper = this.mapper;
+            IGCMetrics metrics = this.metrics;
+            CountingInputStream counted = null;
+            if (metrics != null) {
+                counted = new CountingInputStream(body);
+                body = counted;
+            }
+            long start = System.nanoTime();
+            try (JsonParser parser = mapper.getFactory().createParser(body)) {
+                JsonParser toRead = parser;
+                if (jsonPointer != null) {
+                    toRead = new FilteringParserDelegate(parser,
+                            new JsonPointerBasedFilter(JsonPointer.compile(jsonPointer)),
+                            false,
+                            false);
+                }
+                if (toRead.nextToken() != null) {
+                    result = mapper.readerFor(type).readValue(toRead);
+                }
             } catch (IOException e) {
-                e.printStackTrace();
+                // Fail the request (rather than returning nothing), so that it is recorded as a failure
+                throw new UncheckedIOException("Unable to read the response into: " + type.getName(), e);
+            }
+            if (metrics != null) {
+                metrics.responseRead(requestType, counted.getCount(), System.nanoTime() - start, getNumberOfItems(result));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieve the number of items in a response, if it is a page of results
+     *
+     * @param response - the response
+     * @return int - the number of items, or -1 if the response is not a page of results
+     */
+    private static int getNumberOfItems(Object response) {
+        if (response instanceof ReferenceList) {
+            List<Reference> items = ((ReferenceList) response).getItems();
+            return (items == null) ? 0 : items.size();
+        } else if (response instanceof CompactReferenceList.Page) {
+            return ((CompactReferenceList.Page) response).getItems().size();
+        } else if (response instanceof JsonNode && ((JsonNode) response).path("items").isArray()) {
+            return ((JsonNode) response).path("items").size();
+        }
+        return -1;
+    }
+
+    /**
+     * Counts the bytes read from a response body (for metrics)
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count = 0;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
             }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
         }
-        return jsonNode;
+
+        private long getCount() {
+            return count;
+        }
+
     }
 
     /**
@@ -142,7 +767,7 @@ public class IGCRestClient {
     protected Reference readJSONIntoPOJO(JsonNode jsonNode) {
         Reference reference = null;
         try {
-            reference = this.mapper.readValue(jsonNode.toString(), Reference.class);
+            reference = this.mapper.treeToValue(jsonNode, Reference.class);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -166,7 +791,16 @@ public class IGCRestClient {
      * @return JsonNode the list of types supported by IGC, as a JSON structure
      */
     public JsonNode getTypes() {
-        return _makeRequest(baseURL + TYPES, HttpMethod.GET, null);
+        return _makeGetRequest(baseURL + TYPES, JsonNode.class, null);
+    }
+
+    /**
+     * Asynchronously retrieves the list of metadata types supported by IGC
+     *
+     * @return {@code CompletableFuture<JsonNode>} the list of types supported by IGC, as a JSON structure
+     */
+    public CompletableFuture<JsonNode> getTypesAsync() {
+        return _makeGetRequestAsync(baseURL + TYPES, JsonNode.class, null);
     }
 
     /**
@@ -176,7 +810,16 @@ public class IGCRestClient {
      * @return JsonNode - the JSON response of the retrieval
      */
     public JsonNode getJsonAssetById(String rid) {
-        return _makeRequest(baseURL + ASSET + "/" + rid, HttpMethod.GET, null);
+        JsonNode asset = getCachedAsset(rid, IGCAssetCache.ALL_PROPERTIES, JsonNode.class);
+        if (asset == null) {
+            asset = getSnapshotAsset(rid, JsonNode.class);
+            if (asset == null) {
+                asset = _makeGetRequest(baseURL + ASSET + "/" + rid, JsonNode.class, null);
+                snapshotAsset(rid, asset);
+            }
+            cacheAsset(rid, IGCAssetCache.ALL_PROPERTIES, JsonNode.class, asset);
+        }
+        return asset;
     }
 
     /**
@@ -186,7 +829,75 @@ public class IGCRestClient {
      * @return Reference - the IGC object representing the asset
      */
     public Reference getAssetById(String rid) {
-        return readJSONIntoPOJO(getJsonAssetById(rid));
+        Reference asset = getCachedAsset(rid, IGCAssetCache.ALL_PROPERTIES, Reference.class);
+        if (asset == null) {
+            asset = getSnapshotAsset(rid, Reference.class);
+            if (asset == null) {
+                if (this.snapshotStore == null) {
+                    asset = _makeGetRequest(baseURL + ASSET + "/" + rid, Reference.class, null);
+                } else {
+                    // Retrieve the JSON (rather than the POJO), so that the snapshot holds the response as-is
+                    JsonNode json = _makeGetRequest(baseURL + ASSET + "/" + rid, JsonNode.class, null);
+                    snapshotAsset(rid, json);
+                    asset = readSnapshotJson(json);
+                }
+            }
+            cacheAsset(rid, IGCAssetCache.ALL_PROPERTIES, Reference.class, asset);
+        }
+        return asset;
+    }
+
+    /**
+     * Asynchronously retrieve all information about an asset from IGC.
+     *
+     * @param rid - the Repository ID of the asset
+     * @return {@code CompletableFuture<JsonNode>} - the JSON response of the retrieval
+     */
+    public CompletableFuture<JsonNode> getJsonAssetByIdAsync(String rid) {
+        JsonNode cached = getCachedAsset(rid, IGCAssetCache.ALL_PROPERTIES, JsonNode.class);
+        if (cached == null) {
+            cached = getSnapshotAsset(rid, JsonNode.class);
+            cacheAsset(rid, IGCAssetCache.ALL_PROPERTIES, JsonNode.class, cached);
+        }
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return _makeGetRequestAsync(baseURL + ASSET + "/" + rid, JsonNode.class, null).thenApply(asset -> {
+            snapshotAsset(rid, asset);
+            cacheAsset(rid, IGCAssetCache.ALL_PROPERTIES, JsonNode.class, asset);
+            return asset;
+        });
+    }
+
+    /**
+     * Asynchronously retrieve all information about an asset from IGC.
+     *
+     * @param rid - the Repository ID of the asset
+     * @return {@code CompletableFuture<Reference>} - the IGC object representing the asset
+     */
+    public CompletableFuture<Reference> getAssetByIdAsync(String rid) {
+        Reference cached = getCachedAsset(rid, IGCAssetCache.ALL_PROPERTIES, Reference.class);
+        if (cached == null) {
+            cached = getSnapshotAsset(rid, Reference.class);
+            cacheAsset(rid, IGCAssetCache.ALL_PROPERTIES, Reference.class, cached);
+        }
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Reference> retrieved;
+        if (this.snapshotStore == null) {
+            retrieved = _makeGetRequestAsync(baseURL + ASSET + "/" + rid, Reference.class, null);
+        } else {
+            // Retrieve the JSON (rather than the POJO), so that the snapshot holds the response as-is
+            retrieved = _makeGetRequestAsync(baseURL + ASSET + "/" + rid, JsonNode.class, null).thenApply(json -> {
+                snapshotAsset(rid, json);
+                return readSnapshotJson(json);
+            });
+        }
+        return retrieved.thenApply(asset -> {
+            cacheAsset(rid, IGCAssetCache.ALL_PROPERTIES, Reference.class, asset);
+            return asset;
+        });
     }
 
     /**
@@ -214,79 +925,376 @@ public class IGCRestClient {
      * @return ReferenceList - the first page of results from the search
      */
     public ReferenceList search(IGCSearch igcSearch) {
-        ReferenceList referenceList = null;
-        JsonNode results = searchJson(igcSearch);
-        try {
-            referenceList = this.mapper.readValue(results.toString(), ReferenceList.class);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return referenceList;
+        return _makeRequest(baseURL + SEARCH, HttpMethod.POST, igcSearch.getQuery(), ReferenceList.class, null);
     }
 
     /**
-     * Update the asset specified by the provided RID with the value(s) provided.
+     * Asynchronously retrieve all assets that match the provided search criteria from IGC.
      *
-     * @param rid - the Repository ID of the asset to update
-     * @param value - the JSON structure defining what value(s) of the asset to update (and mode)
-     * @return JsonNode - the JSON structure indicating the updated asset's RID and updates made
+     * @param igcSearch - the IGCSearch object defining criteria by which to search
+     * @return {@code CompletableFuture<JsonNode>} - the first JSON page of results from the search
      */
-    public JsonNode updateJson(String rid, JsonNode value) {
-        return _makeRequest(baseURL + ASSET, HttpMethod.PUT, value);
+    public CompletableFuture<JsonNode> searchJsonAsync(IGCSearch igcSearch) {
+        return _makeRequestAsync(baseURL + SEARCH, HttpMethod.POST, igcSearch.getQuery(), JsonNode.class, null);
     }
 
     /**
-     * Retrieve the next page of results from a set of paging details
-     * ... or if there is no next page, return an empty JSON Items set
+     * Asynchronously retrieve all assets that match the provided search criteria from IGC.
      *
-     * @param paging - the "paging" portion of the JSON response from which to retrieve the next page
-     * @return JsonNode - the JSON response of the next page of results
+     * @param igcSearch - the IGCSearch object defining criteria by which to search
+     * @return {@code CompletableFuture<ReferenceList>} - the first page of results from the search
      */
-    public JsonNode getNextPage(JsonNode paging) {
-        JsonNode nextPage = null;
-        try {
-            nextPage = mapper.readTree("{\"items\": []}");
-            JsonNode nextURL = paging.path("next");
-            if (!nextURL.isMissingNode()) {
-                String sNextURL = nextURL.asText();
-                if (sNextURL != "null") {
-                    if (this.workflowEnabled && !sNextURL.contains("workflowMode=draft")) {
-                        sNextURL += "&workflowMode=draft";
-                    }
-                    nextPage = _makeRequest(sNextURL, HttpMethod.GET, null);
-                    // If the page is part of an ASSET retrieval, we need to strip off the attribute
-                    // name of the relationship for proper multi-page composition
-                    if (sNextURL.contains(ASSET)) {
-                        String remainder = sNextURL.substring((baseURL + ASSET).length() + 2);
-                        String attributeName = remainder.substring(remainder.indexOf("/") + 1, remainder.indexOf("?"));
-                        nextPage = nextPage.path(attributeName);
-                    }
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return nextPage;
+    public CompletableFuture<ReferenceList> searchAsync(IGCSearch igcSearch) {
+        return _makeRequestAsync(baseURL + SEARCH, HttpMethod.POST, igcSearch.getQuery(), ReferenceList.class, null);
     }
 
     /**
-     * Retrieve all pages of results from a set of paging details and items
-     * ... or if there is no next page, return the items provided
+     * Retrieve every asset (all pages of results) that matches the provided search criteria from IGC into a compact
+     * list, reading only the basic details (_type, _name, _id and _url) of each asset: intended for searches with very
+     * many results, where only a reference to each asset is needed
      *
-     * @param items - the "items" array of the JSON response for which to retrieve all pages
-     * @param paging - the "paging" portion of the JSON response for which to retrieve all pages
-     * @return JsonNode - the JSON containing all pages of results as an "items" array
+     * @param igcSearch - the IGCSearch object defining criteria by which to search
+     * @return CompactReferenceList - every result of the search
      */
-    public ArrayNode getAllPages(ArrayNode items, JsonNode paging) {
-        ArrayNode allPages = items;
-        JsonNode results = getNextPage(paging);
-        ArrayNode resultsItems = (ArrayNode) results.path("items");
-        if (resultsItems.size() > 0) {
-            allPages = getAllPages(items.addAll(resultsItems), results.path("paging"));
-        }
+    public CompactReferenceList searchCompact(IGCSearch igcSearch) {
+        CompactReferenceList.Page page = _makeRequest(baseURL + SEARCH, HttpMethod.POST, igcSearch.getQuery(), CompactReferenceList.Page.class, null);
+        return (page == null) ? new CompactReferenceList() : getAllPagesCompact(page.getItems(), page.getPaging());
+    }
+
+    /**
+     * Retrieve all pages of results from a set of Paging details and items into a compact list
+     * ... or if there is no next page, a compact list of the items provided
+     *
+     * @param items - the items for which to retrieve all pages
+     * @param paging - the Paging object for which to retrieve all pages
+     * @return CompactReferenceList - all items from all pages of results
+     */
+    public CompactReferenceList getAllPagesCompact(List<Reference> items, Paging paging) {
+        // NOTE: copy the items to avoid side-effecting the original set of items
+        CompactReferenceList allPages = new CompactReferenceList();
+        if (items instanceof CompactReferenceList) {
+            allPages.addAll((CompactReferenceList) items);
+        } else if (items != null) {
+            allPages.addAll(items);
+        }
+        String next = (paging == null) ? null : paging.getNextPageURL();
+        while (next != null && !next.equals("null")) {
+            String sNextURL = getNextPageURL(next);
+            String relationship = getRelationshipFromURL(sNextURL);
+            CompactReferenceList.Page page = _makeGetRequest(sNextURL,
+                    CompactReferenceList.Page.class,
+                    (relationship == null) ? null : "/" + relationship);
+            if (page == null || page.getItems().isEmpty()) {
+                break;
+            }
+            allPages.addAll(page.getItems());
+            next = (page.getPaging() == null) ? null : page.getPaging().getNextPageURL();
+        }
+        allPages.trimToSize();
         return allPages;
     }
 
+    /**
+     * Retrieve all assets that match the provided prepared search, using the provided values for its parameters
+     *
+     * @param preparedSearch - the IGCPreparedSearch defining criteria by which to search
+     * @param values - the value of each parameter of the search (see IGCPreparedSearch.getParameterNames)
+     * @return JsonNode - the first JSON page of results from the search
+     */
+    public JsonNode searchJson(IGCPreparedSearch preparedSearch, String... values) {
+        return _makeEncodedRequest(baseURL + SEARCH, HttpMethod.POST, preparedSearch.bind(values), JsonNode.class, null);
+    }
+
+    /**
+     * Retrieve all assets that match the provided prepared search, using the provided values for its parameters
+     *
+     * @param preparedSearch - the IGCPreparedSearch defining criteria by which to search
+     * @param values - the value of each parameter of the search (see IGCPreparedSearch.getParameterNames)
+     * @return ReferenceList - the first page of results from the search
+     */
+    public ReferenceList search(IGCPreparedSearch preparedSearch, String... values) {
+        return _makeEncodedRequest(baseURL + SEARCH, HttpMethod.POST, preparedSearch.bind(values), ReferenceList.class, null);
+    }
+
+    /**
+     * Asynchronously retrieve all assets that match the provided prepared search, using the provided values for its
+     * parameters
+     *
+     * @param preparedSearch - the IGCPreparedSearch defining criteria by which to search
+     * @param values - the value of each parameter of the search (see IGCPreparedSearch.getParameterNames)
+     * @return {@code CompletableFuture<ReferenceList>} - the first page of results from the search
+     */
+    public CompletableFuture<ReferenceList> searchAsync(IGCPreparedSearch preparedSearch, String... values) {
+        return _makeEncodedRequestAsync(baseURL + SEARCH, HttpMethod.POST, preparedSearch.bind(values), ReferenceList.class, null);
+    }
+
+    /**
+     * Retrieve a number of assets (all of the same type) by their Repository IDs (RIDs), using as few requests
+     * as possible: the RIDs are split into chunks (see setBulkChunkSize) and each chunk is retrieved by a single
+     * search on its RIDs, rather than making a separate request for every RID
+     *
+     * @param type - the type of the assets to retrieve
+     * @param rids - the Repository IDs of the assets to retrieve
+     * @param properties - the properties to retrieve for each asset (or null to retrieve only the name)
+     * @return IGCBulkResult - the assets that were found, and the RIDs that were not
+     */
+    public IGCBulkResult getAssetsByIds(String type, Collection<String> rids, String[] properties) {
+        return waitFor(getAssetsByIdsAsync(Collections.singletonMap(type, rids), properties));
+    }
+
+    /**
+     * Retrieve a number of assets (of varying types) by their Repository IDs (RIDs), using as few requests
+     * as possible: the RIDs of each type are split into chunks (see setBulkChunkSize) and each chunk is retrieved
+     * by a single search on its RIDs, rather than making a separate request for every RID
+     *
+     * @param ridsByType - the Repository IDs of the assets to retrieve, grouped by the type of each asset
+     * @param properties - the properties to retrieve for each asset (or null to retrieve only the name)
+     * @return IGCBulkResult - the assets that were found, and the RIDs that were not
+     */
+    public IGCBulkResult getAssetsByIds(Map<String, ? extends Collection<String>> ridsByType, String[] properties) {
+        return waitFor(getAssetsByIdsAsync(ridsByType, properties));
+    }
+
+    /**
+     * Asynchronously retrieve a number of assets (of varying types) by their Repository IDs (RIDs), using as few
+     * requests as possible (see getAssetsByIds); chunks are retrieved concurrently, with no more than a limited number
+     * in flight at any one time (see setBulkConcurrency)
+     *
+     * @param ridsByType - the Repository IDs of the assets to retrieve, grouped by the type of each asset
+     * @param properties - the properties to retrieve for each asset (or null to retrieve only the name)
+     * @return {@code CompletableFuture<IGCBulkResult>} - the assets that were found, and the RIDs that were not
+     */
+    public CompletableFuture<IGCBulkResult> getAssetsByIdsAsync(Map<String, ? extends Collection<String>> ridsByType, String[] properties) {
+        // A search without explicit properties retrieves only the name (not all properties) of each asset
+        String projection = IGCAssetCache.getProjection(Arrays.asList((properties == null) ? new String[]{ "name" } : properties));
+        List<String> allRids = new ArrayList<>();
+        List<Reference> cached = new ArrayList<>();
+        List<CompletableFuture<ArrayList<Reference>>> chunks = new ArrayList<>();
+        int chunkSize = this.bulkChunkSize;
+        IGCRequestLimiter limiter = new IGCRequestLimiter(this.bulkConcurrency);
+        for (Map.Entry<String, ? extends Collection<String>> entry : ridsByType.entrySet()) {
+            List<String> rids = new ArrayList<>();
+            for (String rid : new LinkedHashSet<>(entry.getValue())) {
+                allRids.add(rid);
+                Reference asset = getCachedAsset(rid, projection, Reference.class);
+                if (asset != null) {
+                    cached.add(asset);
+                } else {
+                    rids.add(rid);
+                }
+            }
+            for (int i = 0; i < rids.size(); i += chunkSize) {
+                List<String> chunk = rids.subList(i, Math.min(i + chunkSize, rids.size()));
+                IGCSearch igcSearch = getSearchForIds(entry.getKey(), chunk, properties);
+                // A search that returns no results (no body at all) leaves the RIDs of the chunk as not found
+                chunks.add(limiter.submit(() -> searchAsync(igcSearch).thenCompose(results -> (results == null)
+                        ? CompletableFuture.completedFuture(new ArrayList<>())
+                        : getAllPagesAsync(results.getItems(), results.getPaging()))));
+            }
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            IGCBulkResult result = new IGCBulkResult(allRids);
+            cached.forEach(result::addAsset);
+            for (CompletableFuture<ArrayList<Reference>> chunk : chunks) {
+                for (Reference asset : chunk.join()) {
+                    cacheAsset(asset.getId(), projection, Reference.class, asset);
+                    result.addAsset(asset);
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Construct a search for the assets of the provided type with any of the provided RIDs
+     *
+     * @param type - the type of the assets to search for
+     * @param rids - the Repository IDs of the assets to search for
+     * @param properties - the properties to retrieve for each asset (or null to retrieve only the name)
+     * @return IGCSearch
+     */
+    protected IGCSearch getSearchForIds(String type, Collection<String> rids, String[] properties) {
+        IGCSearchConditionSet idSet = new IGCSearchConditionSet();
+        for (String rid : rids) {
+            idSet.addCondition(new IGCSearchCondition("_id", "=", rid));
+        }
+        idSet.setMatchAnyCondition(true);
+        IGCSearch igcSearch = (properties == null) ? new IGCSearch(type, idSet) : new IGCSearch(type, properties, idSet);
+        igcSearch.setPageSize(Math.max(rids.size(), 1));
+        return igcSearch;
+    }
+
+    /**
+     * Retrieve the maximum number of RIDs that will be retrieved by any single request when retrieving in bulk
+     *
+     * @return int
+     */
+    public int getBulkChunkSize() {
+        return this.bulkChunkSize;
+    }
+
+    /**
+     * Set the maximum number of RIDs that will be retrieved by any single request when retrieving in bulk
+     *
+     * @param bulkChunkSize - the maximum number of RIDs per request (at least 1)
+     */
+    public void setBulkChunkSize(int bulkChunkSize) {
+        if (bulkChunkSize <= 0) {
+            throw new IllegalArgumentException("The bulk chunk size must be at least 1, but was: " + bulkChunkSize);
+        }
+        this.bulkChunkSize = bulkChunkSize;
+    }
+
+    /**
+     * Retrieve the maximum number of chunks that will be retrieved concurrently when retrieving in bulk
+     *
+     * @return int
+     */
+    public int getBulkConcurrency() {
+        return this.bulkConcurrency;
+    }
+
+    /**
+     * Set the maximum number of chunks that will be retrieved concurrently by any single retrieval in bulk
+     *
+     * @param bulkConcurrency - the maximum number of chunks to have in flight at any one time (at least 1)
+     */
+    public void setBulkConcurrency(int bulkConcurrency) {
+        if (bulkConcurrency <= 0) {
+            throw new IllegalArgumentException("The bulk concurrency must be at least 1, but was: " + bulkConcurrency);
+        }
+        this.bulkConcurrency = bulkConcurrency;
+    }
+
+    /**
+     * Update the asset specified by the provided RID with the value(s) provided.
+     *
+     * @param rid - the Repository ID of the asset to update
+     * @param value - the JSON structure defining what value(s) of the asset to update (and mode)
+     * @return JsonNode - the JSON structure indicating the updated asset's RID and updates made
+     */
+    public JsonNode updateJson(String rid, JsonNode value) {
+        invalidateCachedAsset(rid);
+        JsonNode result = _makeRequest(baseURL + ASSET + "/" + rid, HttpMethod.PUT, value);
+        // Invalidate again, in case the asset was re-cached by a concurrent retrieval during the update
+        invalidateCachedAsset(rid);
+        return result;
+    }
+
+    /**
+     * Asynchronously update the asset specified by the provided RID with the value(s) provided.
+     *
+     * @param rid - the Repository ID of the asset to update
+     * @param value - the JSON structure defining what value(s) of the asset to update (and mode)
+     * @return {@code CompletableFuture<JsonNode>} - the JSON structure indicating the updated asset's RID and updates made
+     */
+    public CompletableFuture<JsonNode> updateJsonAsync(String rid, JsonNode value) {
+        invalidateCachedAsset(rid);
+        return _makeRequestAsync(baseURL + ASSET + "/" + rid, HttpMethod.PUT, value, JsonNode.class, null).whenComplete((result, error) -> {
+            // Invalidate again, in case the asset was re-cached by a concurrent retrieval during the update
+            invalidateCachedAsset(rid);
+        });
+    }
+
+    /**
+     * Update every asset specified by the provided pairs of RID and value(s), with no more than the default number of
+     * updates in flight at any one time (see IGCBulkUpdater)
+     *
+     * @param updates - the updates to make, keyed by the Repository ID of the asset to update
+     * @return {@code Map<String, CompletableFuture<JsonNode>>} - the eventual result of updating each asset, keyed by RID
+     */
+    public Map<String, CompletableFuture<JsonNode>> updateJsonInBulk(Stream<Map.Entry<String, JsonNode>> updates) {
+        return updateJsonInBulk(updates, IGCBulkUpdater.DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Update every asset specified by the provided pairs of RID and value(s), with no more than the provided number
+     * of updates in flight at any one time: multiple updates to the same asset are coalesced into as few requests as
+     * possible (see IGCBulkUpdater)
+     *
+     * @param updates - the updates to make, keyed by the Repository ID of the asset to update
+     * @param maxInFlight - the maximum number of updates to have in flight at any one time
+     * @return {@code Map<String, CompletableFuture<JsonNode>>} - the eventual result of updating each asset, keyed by RID
+     */
+    public Map<String, CompletableFuture<JsonNode>> updateJsonInBulk(Stream<Map.Entry<String, JsonNode>> updates, int maxInFlight) {
+        return new IGCBulkUpdater(this, maxInFlight).updateAll(updates);
+    }
+
+    /**
+     * Retrieve the next page of results from a set of paging details
+     * ... or if there is no next page, return an empty JSON Items set
+     *
+     * @param paging - the "paging" portion of the JSON response from which to retrieve the next page
+     * @return JsonNode - the JSON response of the next page of results
+     */
+    public JsonNode getNextPage(JsonNode paging) {
+        JsonNode nextPage = null;
+        try {
+            nextPage = mapper.readTree("{\"items\": []}");
+            JsonNode nextURL = paging.path("next");
+            if (!nextURL.isMissingNode() && !nextURL.isNull()) {
+                String sNextURL = getNextPageURL(nextURL.asText());
+                String relationship = getRelationshipFromURL(sNextURL);
+                nextPage = _makeGetRequest(sNextURL, JsonNode.class, null);
+                if (relationship != null) {
+                    nextPage = nextPage.path(relationship);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return nextPage;
+    }
+
+    /**
+     * Ensures the provided "next" URL will retrieve draft results, if the workflow is enabled
+     *
+     * @param next - the "next" URL from a set of paging details
+     * @return String - the URL to use to retrieve the next page
+     */
+    private String getNextPageURL(String next) {
+        String nextURL = next;
+        if (this.workflowEnabled && !nextURL.contains("workflowMode=draft")) {
+            nextURL += "&workflowMode=draft";
+        }
+        return nextURL;
+    }
+
+    /**
+     * If the page is part of an ASSET retrieval, the page is nested under the attribute name of the relationship:
+     * this retrieves that attribute name so it can be stripped off for proper multi-page composition
+     *
+     * @param nextURL - the URL of the next page
+     * @return String - the name of the relationship the page represents, or null if not part of an ASSET retrieval
+     */
+    private String getRelationshipFromURL(String nextURL) {
+        String relationship = null;
+        if (nextURL.contains(ASSET)) {
+            String remainder = nextURL.substring((baseURL + ASSET).length() + 2);
+            relationship = remainder.substring(remainder.indexOf("/") + 1, remainder.indexOf("?"));
+        }
+        return relationship;
+    }
+
+    /**
+     * Retrieve all pages of results from a set of paging details and items
+     * ... or if there is no next page, return the items provided
+     *
+     * @param items - the "items" array of the JSON response for which to retrieve all pages
+     * @param paging - the "paging" portion of the JSON response for which to retrieve all pages
+     * @return JsonNode - the JSON containing all pages of results as an "items" array
+     */
+    public ArrayNode getAllPages(ArrayNode items, JsonNode paging) {
+        JsonNode results = getNextPage(paging);
+        ArrayNode resultsItems = (ArrayNode) results.path("items");
+        while (resultsItems.size() > 0) {
+            items.addAll(resultsItems);
+            results = getNextPage(results.path("paging"));
+            resultsItems = (ArrayNode) results.path("items");
+        }
+        return items;
+    }
+
     /**
      * Retrieve the next page of results from a set of Paging details
      * ... or if there is no next page, return an empty JSON Items set
@@ -295,16 +1303,41 @@ public class IGCRestClient {
      * @return ReferenceList - the ReferenceList containing the next page of results
      */
     public ReferenceList getNextPage(Paging paging) {
-        JsonNode nextPage = getNextPage(mapper.convertValue(paging, JsonNode.class));
         ReferenceList rlNextPage = null;
-        try {
-            rlNextPage = this.mapper.readValue(nextPage.toString(), ReferenceList.class);
-        } catch (IOException e) {
-            e.printStackTrace();
+        String next = paging.getNextPageURL();
+        if (next != null && !next.equals("null")) {
+            String sNextURL = getNextPageURL(next);
+            String relationship = getRelationshipFromURL(sNextURL);
+            rlNextPage = _makeGetRequest(sNextURL,
+                    ReferenceList.class,
+                    (relationship == null) ? null : "/" + relationship);
+        }
+        if (rlNextPage == null) {
+            rlNextPage = new ReferenceList();
         }
         return rlNextPage;
     }
 
+    /**
+     * Asynchronously retrieve the next page of results from a set of Paging details
+     * ... or if there is no next page, an empty set of results
+     *
+     * @param paging - the "Paging" object from which to retrieve the next page
+     * @return {@code CompletableFuture<ReferenceList>} - the ReferenceList containing the next page of results
+     */
+    public CompletableFuture<ReferenceList> getNextPageAsync(Paging paging) {
+        String next = paging.getNextPageURL();
+        if (next == null || next.equals("null")) {
+            return CompletableFuture.completedFuture(new ReferenceList());
+        }
+        String sNextURL = getNextPageURL(next);
+        String relationship = getRelationshipFromURL(sNextURL);
+        return _makeGetRequestAsync(sNextURL,
+                ReferenceList.class,
+                (relationship == null) ? null : "/" + relationship
+        ).thenApply(rlNextPage -> (rlNextPage == null) ? new ReferenceList() : rlNextPage);
+    }
+
     /**
      * Retrieve all pages of results from a set of Paging details and items
      * ... or if there is no next page, return the items provided
@@ -314,26 +1347,563 @@ public class IGCRestClient {
      * @return ArrayList - an ArrayList containing all items from all pages of results
      */
     public ArrayList<Reference> getAllPages(ArrayList<Reference> items, Paging paging) {
-        ArrayList<Reference> allPages = items;
+        // NOTE: copy the items to avoid side-effecting the original set of items
+        ArrayList<Reference> allPages = new ArrayList<>(items);
         ReferenceList results = getNextPage(paging);
-        ArrayList<Reference> resultsItems = results.getItems();
-        if (resultsItems.size() > 0) {
-            // NOTE: this ordering of addAll is important, to avoid side-effecting the original set of items
-            resultsItems.addAll(allPages);
-            allPages = getAllPages(resultsItems, results.getPaging());
+        while (results.getItems().size() > 0) {
+            allPages.addAll(results.getItems());
+            results = getNextPage(results.getPaging());
         }
         return allPages;
     }
 
+    /**
+     * Asynchronously retrieve all pages of results from a set of Paging details and items: each page is requested
+     * once the previous page has been received, without tying up a thread while waiting for any of them
+     * ... or if there is no next page, the items provided
+     *
+     * @param items - the ArrayList of items for which to retrieve all pages
+     * @param paging - the Paging object for which to retrieve all pages
+     * @return {@code CompletableFuture<ArrayList<Reference>>} - all items from all pages of results
+     */
+    public CompletableFuture<ArrayList<Reference>> getAllPagesAsync(ArrayList<Reference> items, Paging paging) {
+        return getAllPagesAsync(items, paging, null);
+    }
+
+    /**
+     * Retrieve all pages of results from a set of Paging details and items, failing (with a TimeoutException) as soon
+     * as the provided deadline passes rather than waiting on any page still outstanding
+     * ... or if there is no next page, return the items provided
+     *
+     * @param items - the ArrayList of items for which to retrieve all pages
+     * @param paging - the Paging object for which to retrieve all pages
+     * @param deadline - the deadline by which all pages must be retrieved
+     * @return ArrayList - an ArrayList containing all items from all pages of results
+     */
+    public ArrayList<Reference> getAllPages(ArrayList<Reference> items, Paging paging, IGCDeadline deadline) {
+        return waitFor(getAllPagesAsync(items, paging, deadline));
+    }
+
+    /**
+     * Asynchronously retrieve all pages of results from a set of Paging details and items, failing (with a
+     * TimeoutException) as soon as the provided deadline passes rather than waiting on any page still outstanding
+     * ... or if there is no next page, the items provided
+     *
+     * @param items - the ArrayList of items for which to retrieve all pages
+     * @param paging - the Paging object for which to retrieve all pages
+     * @param deadline - the deadline by which all pages must be retrieved (or null for no deadline)
+     * @return {@code CompletableFuture<ArrayList<Reference>>} - all items from all pages of results
+     */
+    public CompletableFuture<ArrayList<Reference>> getAllPagesAsync(ArrayList<Reference> items, Paging paging, IGCDeadline deadline) {
+        // NOTE: copy the items to avoid side-effecting the original set of items
+        return appendRemainingPagesAsync(new ArrayList<>(items), paging, deadline);
+    }
+
+    private CompletableFuture<ArrayList<Reference>> appendRemainingPagesAsync(ArrayList<Reference> allPages, Paging paging, IGCDeadline deadline) {
+        CompletableFuture<ReferenceList> nextPage = (deadline == null) ? getNextPageAsync(paging) : deadline.start(() -> getNextPageAsync(paging));
+        return nextPage.thenCompose(results -> {
+            if (results.getItems().isEmpty()) {
+                return CompletableFuture.completedFuture(allPages);
+            }
+            allPages.addAll(results.getItems());
+            return appendRemainingPagesAsync(allPages, results.getPaging(), deadline);
+        });
+    }
+
+    /**
+     * Retrieve all pages of results from a set of Paging details and items, retrieving up to 'parallelism' of the
+     * remaining pages concurrently (rather than one after another)
+     * ... or if there is no next page, return the items provided
+     *
+     * @param items - the ArrayList of items for which to retrieve all pages
+     * @param paging - the Paging object for which to retrieve all pages
+     * @param parallelism - the maximum number of pages to retrieve concurrently
+     * @return ArrayList - an ArrayList containing all items from all pages of results (in order)
+     */
+    public ArrayList<Reference> getAllPages(ArrayList<Reference> items, Paging paging, int parallelism) {
+        ReferenceList firstPage = new ReferenceList();
+        // NOTE: copy the items to avoid side-effecting the original set of items
+        firstPage.setItems(new ArrayList<>(items));
+        firstPage.setPaging(paging);
+        return new ParallelPagedReferenceIterator(this, firstPage, parallelism, true).toList();
+    }
+
+    /**
+     * Iterate through all results that match the provided search criteria from IGC, retrieving each page of
+     * results only as it is needed (and discarding each page once it has been iterated through)
+     *
+     * @param igcSearch - the IGCSearch object defining criteria by which to search
+     * @return {@code Iterable<Reference>} - every result of the search (the search is run for each iterator)
+     */
+    public Iterable<Reference> iterate(IGCSearch igcSearch) {
+        return () -> new PagedReferenceIterator(this, search(igcSearch));
+    }
+
+    /**
+     * Iterate through all items of the provided (paged) results, retrieving each subsequent page only as it
+     * is needed (and discarding each page once it has been iterated through)
+     *
+     * @param firstPage - the first page of results (eg. from a search or a relationship)
+     * @return {@code Iterable<Reference>} - every item across all pages of the results
+     */
+    public Iterable<Reference> iterate(ReferenceList firstPage) {
+        return () -> new PagedReferenceIterator(this, firstPage);
+    }
+
+    /**
+     * Iterate through all results that match the provided search criteria from IGC, retrieving up to 'parallelism'
+     * pages of results concurrently
+     *
+     * @param igcSearch - the IGCSearch object defining criteria by which to search
+     * @param parallelism - the maximum number of pages to retrieve concurrently
+     * @param ordered - whether to return results in their original order (true) or as soon as retrieved (false)
+     * @return {@code Iterable<Reference>} - every result of the search (the search is run for each iterator)
+     */
+    public Iterable<Reference> iterate(IGCSearch igcSearch, int parallelism, boolean ordered) {
+        return () -> new ParallelPagedReferenceIterator(this, search(igcSearch), parallelism, ordered);
+    }
+
+    /**
+     * Iterate through all items of the provided (paged) results, retrieving up to 'parallelism' of the remaining
+     * pages concurrently
+     *
+     * @param firstPage - the first page of results (eg. from a search or a relationship)
+     * @param parallelism - the maximum number of pages to retrieve concurrently
+     * @param ordered - whether to return items in their original order (true) or as soon as retrieved (false)
+     * @return {@code Iterable<Reference>} - every item across all pages of the results
+     */
+    public Iterable<Reference> iterate(ReferenceList firstPage, int parallelism, boolean ordered) {
+        return () -> new ParallelPagedReferenceIterator(this, firstPage, parallelism, ordered);
+    }
+
+    /**
+     * Stream through all results that match the provided search criteria from IGC, retrieving each page of
+     * results only as it is needed (and discarding each page once it has been consumed)
+     *
+     * @param igcSearch - the IGCSearch object defining criteria by which to search
+     * @return {@code Stream<Reference>} - every result of the search
+     */
+    public Stream<Reference> stream(IGCSearch igcSearch) {
+        return StreamSupport.stream(iterate(igcSearch).spliterator(), false);
+    }
+
+    /**
+     * Stream through all items of the provided (paged) results, retrieving each subsequent page only as it
+     * is needed (and discarding each page once it has been consumed)
+     *
+     * @param firstPage - the first page of results (eg. from a search or a relationship)
+     * @return {@code Stream<Reference>} - every item across all pages of the results
+     */
+    public Stream<Reference> stream(ReferenceList firstPage) {
+        return StreamSupport.stream(iterate(firstPage).spliterator(), false);
+    }
+
+    /**
+     * Stream through all results that match the provided search criteria from IGC, retrieving up to 'parallelism'
+     * pages of results concurrently
+     *
+     * @param igcSearch - the IGCSearch object defining criteria by which to search
+     * @param parallelism - the maximum number of pages to retrieve concurrently
+     * @param ordered - whether to return results in their original order (true) or as soon as retrieved (false)
+     * @return {@code Stream<Reference>} - every result of the search
+     */
+    public Stream<Reference> stream(IGCSearch igcSearch, int parallelism, boolean ordered) {
+        return StreamSupport.stream(iterate(igcSearch, parallelism, ordered).spliterator(), false);
+    }
+
+    /**
+     * Stream through all items of the provided (paged) results, retrieving up to 'parallelism' of the remaining
+     * pages concurrently
+     *
+     * @param firstPage - the first page of results (eg. from a search or a relationship)
+     * @param parallelism - the maximum number of pages to retrieve concurrently
+     * @param ordered - whether to return items in their original order (true) or as soon as retrieved (false)
+     * @return {@code Stream<Reference>} - every item across all pages of the results
+     */
+    public Stream<Reference> stream(ReferenceList firstPage, int parallelism, boolean ordered) {
+        return StreamSupport.stream(iterate(firstPage, parallelism, ordered).spliterator(), false);
+    }
+
+    /**
+     * Iterate through all results that match the provided search criteria from IGC, splitting the search into a
+     * sub-search per partition (see IGCSearch.partition) and running up to 'parallelism' of the sub-searches
+     * concurrently; results are returned as soon as they are retrieved, from whichever sub-search
+     *
+     * @param igcSearch - the IGCSearch object defining criteria by which to search
+     * @param partitions - the (disjoint) conditions defining each partition (see IGCSearchPartitions)
+     * @param parallelism - the maximum number of sub-searches to run concurrently
+     * @return {@code Iterable<Reference>} - every result of the search (the sub-searches are run for each iterator)
+     */
+    public Iterable<Reference> iterate(IGCSearch igcSearch, List<IGCSearchConditionSet> partitions, int parallelism) {
+        List<IGCSearch> subSearches = igcSearch.partition(partitions);
+        return () -> new PartitionedReferenceIterator(this, subSearches, parallelism);
+    }
+
+    /**
+     * Stream through all results that match the provided search criteria from IGC, splitting the search into a
+     * sub-search per partition (see IGCSearch.partition) and running up to 'parallelism' of the sub-searches
+     * concurrently; results are streamed as soon as they are retrieved, from whichever sub-search. Closing the stream
+     * stops any sub-searches still running.
+     *
+     * @param igcSearch - the IGCSearch object defining criteria by which to search
+     * @param partitions - the (disjoint) conditions defining each partition (see IGCSearchPartitions)
+     * @param parallelism - the maximum number of sub-searches to run concurrently
+     * @return {@code Stream<Reference>} - every result of the search
+     */
+    public Stream<Reference> stream(IGCSearch igcSearch, List<IGCSearchConditionSet> partitions, int parallelism) {
+        PartitionedReferenceIterator iterator = new PartitionedReferenceIterator(this, igcSearch.partition(partitions), parallelism);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Retrieve an asset from the cache (if there is a cache)
+     *
+     * @param rid - the Repository ID of the asset
+     * @param projection - the properties with which the asset was retrieved
+     * @param type - the form in which the asset was retrieved
+     * @param <T> - the form in which the asset was retrieved
+     * @return T - the cached asset, or null if not cached
+     */
+    private <T> T getCachedAsset(String rid, String projection, Class<T> type) {
+        IGCAssetCache cache = this.assetCache;
+        if (cache != null) {
+            byte[] json = cache.get(rid, projection, type);
+            if (json != null) {
+                // Every hit creates a new object, so that changes made by one caller are never seen by another
+                try {
+                    return mapper.readValue(json, type);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add an asset to the cache (if there is a cache)
+     *
+     * @param rid - the Repository ID of the asset
+     * @param projection - the properties with which the asset was retrieved
+     * @param type - the form in which the asset was retrieved
+     * @param asset - the asset to cache
+     * @param <T> - the form in which the asset was retrieved
+     */
+    private <T> void cacheAsset(String rid, String projection, Class<T> type, T asset) {
+        IGCAssetCache cache = this.assetCache;
+        if (cache != null && asset != null) {
+            try {
+                cache.put(rid, projection, type, mapper.writeValueAsBytes(asset));
+            } catch (JsonProcessingException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Remove an asset from the cache (if there is a cache)
+     *
+     * @param rid - the Repository ID of the asset
+     */
+    private void invalidateCachedAsset(String rid) {
+        IGCAssetCache cache = this.assetCache;
+        if (cache != null && rid != null) {
+            cache.invalidate(rid);
+        }
+        IGCSnapshotStore store = this.snapshotStore;
+        if (store != null && rid != null) {
+            try {
+                store.remove(rid);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Retrieve an asset from the snapshot store (if there is a snapshot store)
+     *
+     * @param rid - the Repository ID of the asset
+     * @param type - the form in which to retrieve the asset (eg. JsonNode or Reference)
+     * @param <T> - the form in which to retrieve the asset
+     * @return T - the asset, or null if it is not in the snapshot
+     */
+    private <T> T getSnapshotAsset(String rid, Class<T> type) {
+        IGCSnapshotStore store = this.snapshotStore;
+        if (store != null && rid != null) {
+            try {
+                byte[] json = store.get(rid);
+                if (json != null) {
+                    return mapper.readValue(json, type);
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add an asset to the snapshot store (if there is a snapshot store)
+     *
+     * @param rid - the Repository ID of the asset
+     * @param asset - the JSON of the asset, exactly as it was retrieved (a POJO converted back into JSON would lose
+     *              any properties the POJO does not hold)
+     */
+    private void snapshotAsset(String rid, JsonNode asset) {
+        IGCSnapshotStore store = this.snapshotStore;
+        if (store != null && rid != null && asset != null) {
+            try {
+                store.put(rid, mapper.writeValueAsBytes(asset));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Read the JSON of an asset (as retrieved for the snapshot store) into its POJO
+     *
+     * @param json - the JSON of the asset
+     * @return Reference - the IGC object representing the asset, or null if there is no JSON
+     */
+    private Reference readSnapshotJson(JsonNode json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return mapper.treeToValue(json, Reference.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Unable to read the asset into: " + Reference.class.getName(), e);
+        }
+    }
+
+    /**
+     * Retrieve the limiter that adapts the number of requests in flight at any one time to the load the services
+     * tier can sustain (eg. to inspect its current limit and queue depth), if one has been set
+     *
+     * @return IGCAdaptiveLimiter - or null if requests are not being limited
+     */
+    public IGCAdaptiveLimiter getConcurrencyLimiter() {
+        return this.concurrencyLimiter;
+    }
+
+    /**
+     * Set the limiter that adapts the number of requests in flight at any one time (or null, the default, to not
+     * limit requests)
+     *
+     * @param concurrencyLimiter - the limiter to use
+     */
+    public void setConcurrencyLimiter(IGCAdaptiveLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    /**
+     * Retrieve the metrics into which every request is recorded
+     *
+     * @return IGCMetrics - or null if requests are not being recorded
+     */
+    public IGCMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Set the metrics into which to record every request (or null to stop recording): response times, response
+     * sizes, time to read (deserialize) responses, items per page, errors and requests in flight, by kind of request
+     *
+     * @param metrics - the metrics into which to record requests (eg. an IGCInMemoryMetrics)
+     */
+    public void setMetrics(IGCMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Retrieve the hedger used for idempotent (GET) requests
+     *
+     * @return IGCRequestHedger - or null if requests are not being hedged
+     */
+    public IGCRequestHedger getRequestHedger() {
+        return this.requestHedger;
+    }
+
+    /**
+     * Set the hedger to use for idempotent (GET) requests (or null to stop hedging requests): any such request that
+     * is unusually slow to respond is duplicated, and whichever responds first is used
+     *
+     * @param requestHedger - the hedger to use
+     */
+    public void setRequestHedger(IGCRequestHedger requestHedger) {
+        this.requestHedger = requestHedger;
+    }
+
+    /**
+     * Retrieve the pool of sessions through which requests are made
+     *
+     * @return IGCSessionPool
+     */
+    public IGCSessionPool getSessionPool() {
+        return this.sessions;
+    }
+
+    /**
+     * Set the number of sessions through which to make requests: with more than one session, concurrent requests
+     * (eg. from multiple threads, or asynchronous requests) are processed concurrently by the server rather than
+     * queueing behind each other on a single session
+     *
+     * @param size - the number of sessions to use (1 by default)
+     */
+    public void setSessionPoolSize(int size) {
+        this.sessions.setSize(size);
+    }
+
+    /**
+     * Retrieve the cache of assets consulted before retrieving any asset by its RID
+     *
+     * @return IGCAssetCache - or null if assets are not being cached
+     */
+    public IGCAssetCache getAssetCache() {
+        return this.assetCache;
+    }
+
+    /**
+     * Set the cache of assets to consult before retrieving any asset by its RID (or null to stop caching)
+     *
+     * @param assetCache - the cache to use
+     */
+    public void setAssetCache(IGCAssetCache assetCache) {
+        this.assetCache = assetCache;
+    }
+
+    /**
+     * Retrieve the snapshot store consulted (after the cache, if any) before retrieving any asset by its RID
+     *
+     * @return IGCSnapshotStore - or null if assets are not being snapshotted
+     */
+    public IGCSnapshotStore getSnapshotStore() {
+        return this.snapshotStore;
+    }
+
+    /**
+     * Set the snapshot store to consult (after the cache, if any) before retrieving any asset by its RID, and in
+     * which to persist every asset retrieved by its RID (or null to stop using a snapshot store)
+     *
+     * @param snapshotStore - the snapshot store to use
+     */
+    public void setSnapshotStore(IGCSnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
+    }
+
+    /**
+     * Stream through every asset in the snapshot store, without retrieving anything from IGC itself (eg. to
+     * pre-load assets on start-up, or to analyse assets offline)
+     *
+     * @return {@code Stream<Reference>} - every asset in the snapshot (empty if there is no snapshot store)
+     */
+    public Stream<Reference> streamSnapshot() {
+        IGCSnapshotStore store = this.snapshotStore;
+        if (store == null) {
+            return Stream.empty();
+        }
+        return store.getRids().stream()
+                .map(rid -> getSnapshotAsset(rid, Reference.class))
+                .filter(asset -> asset != null);
+    }
+
+    /**
+     * Wait for the provided asynchronous request to complete, re-throwing any (runtime) exception it produced
+     *
+     * @param future - the asynchronous request
+     * @param <T> - the type of the request's result
+     * @return T - the result of the request
+     */
+    private static <T> T waitFor(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieve the executor used to process the responses of asynchronous requests
+     *
+     * @return Executor
+     */
+    public Executor getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    /**
+     * Set the executor used to process the responses of asynchronous requests (by default, the common ForkJoinPool):
+     * note that this executor is not used to wait on responses -- the transport's non-blocking engine does that
+     *
+     * @param asyncExecutor - the executor to use
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Retrieve the HTTP transport (pool of connections) over which this client communicates
+     *
+     * @return IGCRestTransport
+     */
+    public IGCRestTransport getTransport() {
+        return this.transport;
+    }
+
+    /**
+     * Log out of a session that has been removed from the pool, once it no longer has any requests in flight
+     *
+     * @param session - the session to log out of
+     */
+    private void logoutAsync(IGCSessionPool.Session session) {
+        List<String> cookies = session.getCookies();
+        if (cookies != null) {
+            session.setCookies(null);
+            _recordRequestAsync(IGCRequestType.LOGOUT, () -> _executeRequestAsync(session, cookies, baseURL + LOGOUT, HttpMethod.GET, null, JsonNode.class, null, null))
+                    .whenComplete((value, error) -> {
+                        Throwable cause = (error instanceof CompletionException) ? error.getCause() : error;
+                        // Nothing to log out of if the session has already timed out
+                        if (cause != null && !isSessionTimeout(cause, cookies)) {
+                            cause.printStackTrace();
+                        }
+                    });
+        }
+    }
+
     /**
      * Disconnect from IGC REST API and invalidate the session
+     * (also closes the pool of connections, unless the transport was provided to the client)
      */
     public void disconnect() {
-        _makeRequest(baseURL + LOGOUT, HttpMethod.GET, null);
+        // Log out of every session that was ever authenticated (including any removed from the pool)
+        for (IGCSessionPool.Session session : sessions.getSessions()) {
+            List<String> cookies = session.getCookies();
+            if (cookies != null) {
+                session.setCookies(null);
+                try {
+                    _recordRequest(IGCRequestType.LOGOUT, null, () -> _executeRequest(session, cookies, baseURL + LOGOUT, HttpMethod.GET, null, JsonNode.class, null));
+                } catch (HttpClientErrorException e) {
+                    // Nothing to log out of if the session has already timed out
+                    if (!isSessionTimeout(e, cookies)) {
+                        throw e;
+                    }
+                }
+            }
+        }
+        if (ownsTransport) {
+            transport.close();
+        }
     }
 
     /**
      * Disables SSL verification, to allow self-signed certificates
+     * (must be called before creating the IGCRestClient or IGCRestTransport to which it should apply)
      */
     public static void disableSslVerification() {
         try {
@@ -353,14 +1923,30 @@ public class IGCRestClient {
             HostnameVerifier allHostsValid = (hostname, session) -> true;
             // Install the all-trusting host verifier
             HttpsURLConnection.setDefaultHostnameVerifier(allHostsValid);
+            // ... and ensure any pooled transports created from here on also use both
+            IGCRestTransport.setSslContext(sc, allHostsValid);
         } catch (NoSuchAlgorithmException | KeyManagementException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Creates a new object mapper that handles all of the provided POJOs
+     *
+     * @param types - the pairings of Java class name and JSON '_type' name to handle
+     * @return ObjectMapper
+     */
+    private static ObjectMapper newObjectMapper(List<NamedType> types) {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enableDefaultTyping();
+        mapper.registerSubtypes(types.toArray(new NamedType[0]));
+        return mapper;
+    }
+
     /**
      * Register a POJO as an object to handle serde of JSON objects.
-     * Note that this MUST be done BEFORE any object mapping (translation) is done!
+     * This can safely be done at any time, even while other threads are using the client: any request already in
+     * flight completes using the previously-registered POJOs, and any request started afterwards uses this one too.
      *
      * In general, you'll want your POJO to extend at least the model.Reference
      * object in this package; more likely the model.MainObject (for your own OpenIGC object),
@@ -369,8 +1955,13 @@ public class IGCRestClient {
      *
      * @param namedType - the pairing of Java class name and JSON '_type' name
      */
-    public void registerPOJO(NamedType namedType) {
-        this.mapper.registerSubtypes(namedType);
+    public synchronized void registerPOJO(NamedType namedType) {
+        List<NamedType> types = new ArrayList<>(this.registeredTypes);
+        types.add(namedType);
+        this.registeredTypes = Collections.unmodifiableList(types);
+        this.mapper = newObjectMapper(types);
+        // Build the class's metadata up-front, rather than on its first dynamic property access
+        ClassMetadata.forClass(namedType.getType());
     }
 
     /**
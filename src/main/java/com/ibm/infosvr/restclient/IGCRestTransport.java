@@ -0,0 +1,282 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpResponse;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides the HTTP layer over which an IGCRestClient communicates with IGC.
+ *
+ * A single pool of (keep-alive) connections is shared by every request made through the transport, so that
+ * repeated requests against the same services tier re-use existing TCP (and TLS) connections rather than
+ * establishing a new connection for every request. Idle connections are evicted from the pool in the background.
+ *
+ * Asynchronous requests run over a separate, non-blocking (NIO) engine with its own pool of connections of the same
+ * sizes; this is only started the first time an asynchronous request is made.
+ *
+ * A transport can be shared by multiple IGCRestClients; each client retains its own session (cookies) regardless.
+ */
+public class IGCRestTransport implements Closeable {
+
+    public static final int DEFAULT_MAX_TOTAL = 50;
+    public static final int DEFAULT_MAX_PER_ROUTE = 20;
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 30000;
+    public static final long DEFAULT_KEEP_ALIVE_MS = 60000;
+
+    private static volatile SSLContext sslContext = null;
+    private static volatile HostnameVerifier hostnameVerifier = null;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+
+    private PoolingNHttpClientConnectionManager asyncConnectionManager = null;
+    private volatile CloseableHttpAsyncClient asyncClient = null;
+    private ScheduledExecutorService asyncEvictor = null;
+
+    private final SSLContext transportSslContext;
+    private final HostnameVerifier transportHostnameVerifier;
+    private final long idleTimeoutMs;
+    private final long keepAliveMs;
+
+    /**
+     * Creates a new transport using the default pool sizes and timeouts
+     */
+    public IGCRestTransport() {
+        this(DEFAULT_MAX_TOTAL, DEFAULT_MAX_PER_ROUTE, DEFAULT_IDLE_TIMEOUT_MS, DEFAULT_KEEP_ALIVE_MS);
+    }
+
+    /**
+     * Creates a new transport with the provided pool sizes and timeouts
+     *
+     * @param maxTotal - the maximum number of connections to hold open in total
+     * @param maxPerRoute - the maximum number of connections to hold open to any single host (route)
+     * @param idleTimeoutMs - the number of milliseconds after which an unused connection will be evicted
+     * @param keepAliveMs - the number of milliseconds to keep a connection alive, if the server does not say
+     */
+    public IGCRestTransport(int maxTotal, int maxPerRoute, long idleTimeoutMs, long keepAliveMs) {
+
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.keepAliveMs = keepAliveMs;
+        this.transportSslContext = sslContext;
+        this.transportHostnameVerifier = hostnameVerifier;
+
+        RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory());
+        if (transportSslContext != null) {
+            registryBuilder.register("https", new SSLConnectionSocketFactory(transportSslContext, transportHostnameVerifier));
+        } else {
+            registryBuilder.register("https", SSLConnectionSocketFactory.getSocketFactory());
+        }
+        Registry<ConnectionSocketFactory> registry = registryBuilder.build();
+
+        this.connectionManager = new PoolingHttpClientConnectionManager(registry);
+        this.connectionManager.setMaxTotal(maxTotal);
+        this.connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        // Cookies are handled explicitly by each IGCRestClient (one session per client), so we must not allow
+        // the underlying client to retain and re-send them across every client sharing this transport
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(getKeepAliveStrategy())
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeoutMs, TimeUnit.MILLISECONDS)
+                .disableCookieManagement()
+                .build();
+
+        this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+
+    }
+
+    /**
+     * Keep connections alive for as long as the server indicates (via the Keep-Alive header), or for the
+     * configured default if the server gives no indication
+     *
+     * @return ConnectionKeepAliveStrategy
+     */
+    private ConnectionKeepAliveStrategy getKeepAliveStrategy() {
+        return (HttpResponse response, HttpContext context) -> {
+            HeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (it.hasNext()) {
+                HeaderElement he = it.nextElement();
+                String value = he.getValue();
+                if (value != null && he.getName().equalsIgnoreCase("timeout")) {
+                    try {
+                        return Long.parseLong(value) * 1000;
+                    } catch (NumberFormatException e) {
+                        // fall through to the default
+                    }
+                }
+            }
+            return keepAliveMs;
+        };
+    }
+
+    /**
+     * Set the SSL context (and hostname verification) to use for any transports created from this point forward
+     *
+     * @param context - the SSL context to use for HTTPS connections
+     * @param verifier - the hostname verifier to use for HTTPS connections
+     */
+    static void setSslContext(SSLContext context, HostnameVerifier verifier) {
+        sslContext = context;
+        hostnameVerifier = verifier;
+    }
+
+    /**
+     * Retrieve the RestTemplate through which to make requests, backed by the pool of connections
+     *
+     * @return RestTemplate
+     */
+    public RestTemplate getRestTemplate() {
+        return this.restTemplate;
+    }
+
+    /**
+     * Retrieve the non-blocking (NIO) client through which to make asynchronous requests, starting it (and its pool
+     * of connections) if this is the first time it has been needed
+     *
+     * @return CloseableHttpAsyncClient
+     */
+    public CloseableHttpAsyncClient getAsyncClient() {
+        // Only the first use takes the lock: every later request just reads the (volatile) started client
+        CloseableHttpAsyncClient client = this.asyncClient;
+        return (client == null) ? startAsyncClient() : client;
+    }
+
+    /**
+     * Start the non-blocking (NIO) client (and its pool of connections), unless another thread already has
+     *
+     * @return CloseableHttpAsyncClient
+     */
+    private synchronized CloseableHttpAsyncClient startAsyncClient() {
+        if (this.asyncClient == null) {
+            try {
+                RegistryBuilder<SchemeIOSessionStrategy> registryBuilder = RegistryBuilder.<SchemeIOSessionStrategy>create()
+                        .register("http", NoopIOSessionStrategy.INSTANCE);
+                if (transportSslContext != null) {
+                    registryBuilder.register("https", new SSLIOSessionStrategy(transportSslContext, transportHostnameVerifier));
+                } else {
+                    registryBuilder.register("https", SSLIOSessionStrategy.getDefaultStrategy());
+                }
+                this.asyncConnectionManager = new PoolingNHttpClientConnectionManager(
+                        new DefaultConnectingIOReactor(),
+                        registryBuilder.build());
+                this.asyncConnectionManager.setMaxTotal(getMaxTotal());
+                this.asyncConnectionManager.setDefaultMaxPerRoute(getMaxPerRoute());
+            } catch (IOReactorException e) {
+                throw new IllegalStateException("Unable to start the asynchronous HTTP engine.", e);
+            }
+            CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                    .setConnectionManager(asyncConnectionManager)
+                    .setKeepAliveStrategy(getKeepAliveStrategy())
+                    .disableCookieManagement()
+                    .build();
+            client.start();
+            // The asynchronous client has no built-in eviction of idle connections, so we do so ourselves
+            final PoolingNHttpClientConnectionManager toEvict = this.asyncConnectionManager;
+            this.asyncEvictor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "igc-async-connection-evictor");
+                t.setDaemon(true);
+                return t;
+            });
+            this.asyncEvictor.scheduleWithFixedDelay(() -> {
+                toEvict.closeExpiredConnections();
+                toEvict.closeIdleConnections(idleTimeoutMs, TimeUnit.MILLISECONDS);
+            }, idleTimeoutMs, idleTimeoutMs, TimeUnit.MILLISECONDS);
+            // Publish the client only once it is fully started
+            this.asyncClient = client;
+        }
+        return this.asyncClient;
+    }
+
+    /**
+     * Retrieve the maximum number of connections that will be held open in total
+     *
+     * @return int
+     */
+    public int getMaxTotal() {
+        return this.connectionManager.getMaxTotal();
+    }
+
+    /**
+     * Set the maximum number of connections that will be held open in total
+     *
+     * @param maxTotal
+     */
+    public synchronized void setMaxTotal(int maxTotal) {
+        this.connectionManager.setMaxTotal(maxTotal);
+        if (this.asyncConnectionManager != null) {
+            this.asyncConnectionManager.setMaxTotal(maxTotal);
+        }
+    }
+
+    /**
+     * Retrieve the maximum number of connections that will be held open to any single host (route)
+     *
+     * @return int
+     */
+    public int getMaxPerRoute() {
+        return this.connectionManager.getDefaultMaxPerRoute();
+    }
+
+    /**
+     * Set the maximum number of connections that will be held open to any single host (route)
+     *
+     * @param maxPerRoute
+     */
+    public synchronized void setMaxPerRoute(int maxPerRoute) {
+        this.connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        if (this.asyncConnectionManager != null) {
+            this.asyncConnectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        }
+    }
+
+    /**
+     * Shut down the transport, closing all pooled connections
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            this.httpClient.close();
+            if (this.asyncClient != null) {
+                this.asyncEvictor.shutdownNow();
+                this.asyncClient.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+}
@@ -0,0 +1,264 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * A pool of sessions on the server, through which an IGCRestClient makes its requests.
+ *
+ * IGC serializes much of the work it does on behalf of any single session, so a client used by many threads at once
+ * would otherwise see its requests queue up behind each other on the server. Each session in the pool has its own
+ * cookies (and therefore its own session on the server), and every request is made through whichever session
+ * currently has the fewest requests in flight. Sessions are only authenticated (created on the server) the first
+ * time they are used, and are re-authenticated whenever the server indicates they have timed out; only a single
+ * request authenticates a session at a time, while any others made through it wait for the cookies it receives.
+ * Sessions removed from the pool (by reducing its size) are logged out as soon as their requests have completed.
+ *
+ * Leasing and releasing sessions takes no locks: the sessions are held as an array that is replaced (never modified)
+ * whenever the size of the pool changes.
+ */
+public class IGCSessionPool {
+
+    public static final int DEFAULT_SIZE = 1;
+
+    // The number of requests in flight through a session once it has been closed (logged out)
+    private static final int CLOSED = Integer.MIN_VALUE;
+
+    private volatile Session[] sessions = new Session[0];
+    private final Queue<Session> retired = new ConcurrentLinkedQueue<>();
+    private volatile Consumer<Session> logout = null;
+
+    /**
+     * Creates a new pool of the default size (a single session)
+     */
+    public IGCSessionPool() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates a new pool of the provided size
+     *
+     * @param size - the number of sessions to hold
+     */
+    public IGCSessionPool(int size) {
+        setSize(size);
+    }
+
+    /**
+     * Lease the session with the fewest requests in flight, to make a request through; the session must be released
+     * once the request completes
+     *
+     * @return Session
+     */
+    Session lease() {
+        while (true) {
+            Session[] current = this.sessions;
+            Session leastBusy = current[0];
+            for (Session session : current) {
+                if (session.inFlight.get() < leastBusy.inFlight.get()) {
+                    leastBusy = session;
+                }
+            }
+            if (leastBusy.inFlight.incrementAndGet() > 0) {
+                return leastBusy;
+            }
+            // Removed from the pool and closed just as it was leased, so lease from the current sessions instead
+            leastBusy.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Release a previously-leased session, once the request made through it has completed
+     *
+     * @param session - the session to release
+     */
+    void release(Session session) {
+        if (session.inFlight.decrementAndGet() == 0 && session.retired) {
+            close(session);
+        }
+    }
+
+    /**
+     * Close a session that has been removed from the pool, if it has no requests in flight, logging it out
+     *
+     * @param session - the session to close
+     */
+    private void close(Session session) {
+        if (session.inFlight.compareAndSet(0, CLOSED)) {
+            retired.remove(session);
+            Consumer<Session> logout = this.logout;
+            if (logout != null) {
+                logout.accept(session);
+            }
+        }
+    }
+
+    /**
+     * Set the means of logging out of a session, once it has been removed from the pool and has no requests in flight
+     *
+     * @param logout - logs out of the provided session
+     */
+    void setLogout(Consumer<Session> logout) {
+        this.logout = logout;
+    }
+
+    /**
+     * Retrieve all of the sessions currently in the pool, as well as any removed from it that are still to be logged
+     * out (as they have requests in flight)
+     *
+     * @return {@code List<Session>}
+     */
+    List<Session> getSessions() {
+        List<Session> all = new ArrayList<>(Arrays.asList(this.sessions));
+        all.addAll(this.retired);
+        return all;
+    }
+
+    /**
+     * Retrieve the number of sessions in the pool
+     *
+     * @return int
+     */
+    public int getSize() {
+        return this.sessions.length;
+    }
+
+    /**
+     * Set the number of sessions in the pool: new sessions are added unauthenticated (they will be authenticated
+     * when first used), while removed sessions finish any requests in flight and are then logged out
+     *
+     * @param size - the number of sessions to hold (at least 1)
+     */
+    public synchronized void setSize(int size) {
+        int target = Math.max(1, size);
+        Session[] previous = this.sessions;
+        Session[] resized = Arrays.copyOf(previous, target);
+        for (int i = previous.length; i < target; i++) {
+            resized[i] = new Session();
+        }
+        this.sessions = resized;
+        for (int i = target; i < previous.length; i++) {
+            Session removed = previous[i];
+            removed.retired = true;
+            retired.add(removed);
+            close(removed);
+        }
+    }
+
+    /**
+     * Retrieve the number of sessions in the pool that are currently authenticated
+     *
+     * @return int
+     */
+    public int getAuthenticatedCount() {
+        int count = 0;
+        for (Session session : this.sessions) {
+            if (session.getCookies() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Retrieve the number of requests currently in flight across all sessions
+     *
+     * @return int
+     */
+    public int getInFlightCount() {
+        int count = 0;
+        for (Session session : this.sessions) {
+            count += session.inFlight.get();
+        }
+        return count;
+    }
+
+    /**
+     * A single session on the server, identified by its cookies
+     */
+    static final class Session {
+
+        private final AtomicReference<List<String>> cookies = new AtomicReference<>();
+        private final AtomicReference<CompletableFuture<Void>> authenticating = new AtomicReference<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean retired = false;
+
+        /**
+         * Retrieve the cookies identifying this session on the server
+         *
+         * @return {@code List<String>} - or null if the session is not (or no longer) authenticated
+         */
+        List<String> getCookies() {
+            return cookies.get();
+        }
+
+        /**
+         * Retrieve the cookies with which to make a request through this session: while the session is not
+         * authenticated only a single request at a time is left to authenticate it, and any others wait for the
+         * cookies that request receives
+         *
+         * @return {@code CompletableFuture<List<String>>} - the cookies, or null if the request should authenticate
+         *         the session (in which case endAuthentication must be called once the request completes)
+         */
+        CompletableFuture<List<String>> acquireCookies() {
+            while (true) {
+                List<String> current = cookies.get();
+                if (current != null) {
+                    return CompletableFuture.completedFuture(current);
+                }
+                CompletableFuture<Void> pending = authenticating.get();
+                if (pending != null) {
+                    return pending.thenCompose(done -> acquireCookies());
+                }
+                if (authenticating.compareAndSet(null, new CompletableFuture<>())) {
+                    current = cookies.get();
+                    if (current != null) {
+                        // Authenticated by another request in the meantime
+                        endAuthentication();
+                    }
+                    return CompletableFuture.completedFuture(current);
+                }
+            }
+        }
+
+        /**
+         * Record that the request authenticating this session has completed (whether or not it succeeded), so that
+         * any requests waiting for its cookies can proceed (or one of them can authenticate the session instead)
+         */
+        void endAuthentication() {
+            CompletableFuture<Void> pending = authenticating.getAndSet(null);
+            if (pending != null) {
+                pending.complete(null);
+            }
+        }
+
+        /**
+         * Set the cookies identifying this session on the server
+         *
+         * @param cookies - the cookies received from the server
+         */
+        void setCookies(List<String> cookies) {
+            this.cookies.set(cookies);
+        }
+
+        /**
+         * Mark the session as no longer authenticated, if it is still identified by the provided (timed out) cookies;
+         * if another request has already re-authenticated the session in the meantime, its new cookies are retained
+         *
+         * @param expired - the cookies the server no longer recognises
+         */
+        void invalidate(List<String> expired) {
+            this.cookies.compareAndSet(expired, null);
+        }
+
+    }
+
+}
@@ -0,0 +1,333 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A local, on-disk snapshot of retrieved assets (as JSON), keyed by the Repository ID (RID) of each asset, that
+ * persists across restarts of the client (see IGCRestClient.setSnapshotStore).
+ *
+ * The snapshot is a single append-only file of records, each holding the RID and JSON of an asset: storing an asset
+ * again appends a new record that supersedes the previous one, and removing an asset appends a record with no JSON.
+ * Only the offset of the latest record for each RID is held in memory, built by scanning the file when it is
+ * opened; the records themselves are read through memory-mapped segments of the file rather than copied onto the
+ * heap. (Records appended since a segment was last mapped are read directly from the file, and the segment is only
+ * re-mapped once enough has been appended, so that interleaved stores and retrievals do not map the file over and
+ * over again.) Any partially-written record left at the end of the file (eg. by a crash) is detected by its checksum and
+ * discarded when the file is opened.
+ *
+ * Superseded records are never reclaimed, so a snapshot whose assets are frequently re-stored should be periodically
+ * re-created from scratch.
+ */
+public class IGCSnapshotStore implements Closeable {
+
+    private static final int SEGMENT_SIZE = 1 << 30;
+    // Record: length (int, of all that follows the header), CRC32 (int), RID length (short), RID, JSON
+    private static final int HEADER_SIZE = 8;
+    // The smallest record (one without a RID): any less than this at the end of a segment is left as zeroes
+    private static final int MIN_RECORD_SIZE = HEADER_SIZE + 2;
+    private static final int MAX_RECORD_SIZE = SEGMENT_SIZE - HEADER_SIZE;
+    // A segment is only re-mapped once the part of it beyond its current mapping is at least this large
+    private static final int MIN_REMAP_SIZE = 64 << 20;
+
+    private final File file;
+    private final FileChannel channel;
+    private final Map<String, Long> index = new HashMap<>();
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long size;
+
+    /**
+     * Open the snapshot in the provided file, creating the file if it does not yet exist
+     *
+     * @param file - the file holding the snapshot
+     * @throws IOException if the file could not be opened or read
+     */
+    public IGCSnapshotStore(File file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.size = channel.size();
+        long valid = scan();
+        if (valid < this.size) {
+            // Discard anything after the last complete record
+            channel.truncate(valid);
+            this.size = valid;
+            this.segments.clear();
+        }
+    }
+
+    /**
+     * Scan every record in the file to build the index
+     *
+     * @return long - the length of the file up to the end of the last complete record
+     * @throws IOException if the file could not be read
+     */
+    private long scan() throws IOException {
+        long offset = 0;
+        CRC32 crc = new CRC32();
+        while (offset + HEADER_SIZE <= size) {
+            int position = getPosition(offset);
+            int remaining = SEGMENT_SIZE - position;
+            if (remaining < MIN_RECORD_SIZE) {
+                if (offset + remaining > size) {
+                    break;
+                }
+                offset += remaining;
+                continue;
+            }
+            ByteBuffer segment = getSegment(offset, true);
+            if (position + HEADER_SIZE > segment.limit()) {
+                break;
+            }
+            int length = segment.getInt(position);
+            int checksum = segment.getInt(position + 4);
+            if (length <= 0 || position + HEADER_SIZE + length > segment.limit()) {
+                break;
+            }
+            ByteBuffer record = segment.duplicate();
+            record.position(position + HEADER_SIZE).limit(position + HEADER_SIZE + length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            int ridLength = record.getShort();
+            if (ridLength > 0) {
+                byte[] rid = new byte[ridLength];
+                record.get(rid);
+                if (record.hasRemaining()) {
+                    index.put(new String(rid, UTF_8), offset);
+                } else {
+                    index.remove(new String(rid, UTF_8));
+                }
+            }
+            offset += HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    /**
+     * Retrieve the JSON of the asset with the provided RID
+     *
+     * @param rid - the Repository ID of the asset
+     * @return byte[] - the (UTF-8 encoded) JSON of the asset, or null if the asset is not in the snapshot
+     * @throws IOException if the snapshot could not be read
+     */
+    public synchronized byte[] get(String rid) throws IOException {
+        Long offset = index.get(rid);
+        if (offset == null) {
+            return null;
+        }
+        ByteBuffer segment = getSegment(offset, false);
+        if (segment == null) {
+            // Not yet mapped, so read the record directly from the file
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + 2);
+            read(header, offset);
+            int ridLength = header.getShort(HEADER_SIZE);
+            byte[] json = new byte[header.getInt(0) - 2 - ridLength];
+            read(ByteBuffer.wrap(json), offset + HEADER_SIZE + 2 + ridLength);
+            return json;
+        }
+        int position = getPosition(offset);
+        int length = segment.getInt(position);
+        int ridLength = segment.getShort(position + HEADER_SIZE);
+        byte[] json = new byte[length - 2 - ridLength];
+        ByteBuffer record = segment.duplicate();
+        record.position(position + HEADER_SIZE + 2 + ridLength);
+        record.get(json);
+        return json;
+    }
+
+    /**
+     * Store the JSON of an asset, superseding any JSON already stored for it
+     *
+     * @param rid - the Repository ID of the asset
+     * @param json - the (UTF-8 encoded) JSON of the asset
+     * @throws IOException if the asset could not be stored
+     */
+    public synchronized void put(String rid, byte[] json) throws IOException {
+        if (json.length == 0) {
+            throw new IllegalArgumentException("No JSON provided for the asset: " + rid);
+        }
+        long offset = append(rid, json);
+        index.put(rid, offset);
+    }
+
+    /**
+     * Remove an asset from the snapshot (eg. because it has since been updated)
+     *
+     * @param rid - the Repository ID of the asset
+     * @throws IOException if the asset could not be removed
+     */
+    public synchronized void remove(String rid) throws IOException {
+        if (index.remove(rid) != null) {
+            append(rid, new byte[0]);
+        }
+    }
+
+    /**
+     * Returns true iff the asset with the provided RID is in the snapshot
+     *
+     * @param rid - the Repository ID of the asset
+     * @return boolean
+     */
+    public synchronized boolean contains(String rid) {
+        return index.containsKey(rid);
+    }
+
+    /**
+     * Retrieve the RIDs of every asset in the snapshot
+     *
+     * @return {@code Set<String>}
+     */
+    public synchronized Set<String> getRids() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(index.keySet()));
+    }
+
+    /**
+     * Retrieve the number of assets in the snapshot
+     *
+     * @return int
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Retrieve the file holding the snapshot
+     *
+     * @return File
+     */
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Ensure that everything stored so far has been written to disk
+     *
+     * @throws IOException if the snapshot could not be written
+     */
+    public synchronized void flush() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.force(false);
+        channel.close();
+        segments.clear();
+    }
+
+    /**
+     * Append a record to the end of the file, first padding to the start of the next segment if the record would
+     * otherwise straddle two segments
+     *
+     * @param rid - the Repository ID of the asset
+     * @param json - the JSON of the asset (or empty to remove the asset)
+     * @return long - the offset of the appended record
+     * @throws IOException if the record could not be appended
+     */
+    private long append(String rid, byte[] json) throws IOException {
+        byte[] ridBytes = rid.getBytes(UTF_8);
+        int length = 2 + ridBytes.length + json.length;
+        if (ridBytes.length == 0 || ridBytes.length > Short.MAX_VALUE || length > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Unable to store the asset: " + rid);
+        }
+        int remaining = SEGMENT_SIZE - getPosition(size);
+        if (HEADER_SIZE + length > remaining) {
+            // Padding is a record without a RID (or just zeroes, if there is no room for even that)
+            ByteBuffer padding = ByteBuffer.allocate(remaining);
+            if (remaining >= MIN_RECORD_SIZE) {
+                padding.putInt(remaining - HEADER_SIZE).putInt(0).putShort((short) 0);
+                padding.putInt(4, checksum(padding, HEADER_SIZE, remaining - HEADER_SIZE));
+            }
+            padding.rewind();
+            write(padding);
+        }
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + length);
+        record.putInt(length).putInt(0).putShort((short) ridBytes.length).put(ridBytes).put(json);
+        record.putInt(4, checksum(record, HEADER_SIZE, length));
+        record.rewind();
+        long offset = size;
+        write(record);
+        return offset;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        long position = size;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        size = position;
+    }
+
+    private void read(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of snapshot file: " + file);
+            }
+            position += read;
+        }
+    }
+
+    private static int checksum(ByteBuffer buffer, int from, int length) {
+        CRC32 crc = new CRC32();
+        ByteBuffer data = buffer.duplicate();
+        data.position(from).limit(from + length);
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    private static int getPosition(long offset) {
+        return (int) (offset % SEGMENT_SIZE);
+    }
+
+    /**
+     * Retrieve the memory-mapped segment of the file containing the provided offset, (re-)mapping the segment if it
+     * is not yet mapped or was mapped before the record at the offset was appended (a record is always appended in
+     * full before it can be read, so any mapping including its header includes the whole record)
+     *
+     * Unless forced, a segment that is already mapped is only re-mapped once the part of it beyond the mapping is at
+     * least as large as the mapping itself (and at least MIN_REMAP_SIZE), so each segment is mapped only a handful of
+     * times however often records are appended and then retrieved
+     *
+     * @param offset - the offset within the file
+     * @param force - true to always (re-)map the segment if the offset is not yet mapped
+     * @return ByteBuffer - or null if the offset is not yet mapped (and the segment was not re-mapped)
+     * @throws IOException if the segment could not be mapped
+     */
+    private ByteBuffer getSegment(long offset, boolean force) throws IOException {
+        int number = (int) (offset / SEGMENT_SIZE);
+        long start = (long) number * SEGMENT_SIZE;
+        long length = Math.min(SEGMENT_SIZE, size - start);
+        while (segments.size() <= number) {
+            segments.add(null);
+        }
+        MappedByteBuffer segment = segments.get(number);
+        if (segment == null || segment.capacity() < Math.min(length, getPosition(offset) + HEADER_SIZE)) {
+            if (!force && segment != null && length - segment.capacity() < Math.max(segment.capacity(), MIN_REMAP_SIZE)) {
+                return null;
+            }
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            segments.set(number, segment);
+        }
+        return segment;
+    }
+
+}
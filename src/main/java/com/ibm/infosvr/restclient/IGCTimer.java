@@ -0,0 +1,38 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single (daemon) timer thread shared by every client, on which to schedule time-based actions on requests (such
+ * as deadlines and hedges): these actions must only ever start or complete requests, never wait on them.
+ */
+final class IGCTimer {
+
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "igc-request-timer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        // Most scheduled actions are cancelled (eg. the request completes within its deadline), so do not retain them
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private IGCTimer() { }
+
+    /**
+     * Run the provided action after the provided delay
+     *
+     * @param action - the action to run
+     * @param delayNanos - the number of nanoseconds to wait before running the action
+     * @return {@code ScheduledFuture<?>} - through which the action can be cancelled
+     */
+    static ScheduledFuture<?> schedule(Runnable action, long delayNanos) {
+        return TIMER.schedule(action, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+}
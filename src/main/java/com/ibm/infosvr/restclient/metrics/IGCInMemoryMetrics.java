@@ -0,0 +1,100 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps measurements of every request in memory, by kind of request: response times, response sizes, time to read
+ * (deserialize) responses, items per page, errors and requests in flight.
+ *
+ * Recording a measurement takes no locks. Use getSnapshot to retrieve (and export) the measurements at any point.
+ */
+public class IGCInMemoryMetrics implements IGCMetrics {
+
+    private final Map<IGCRequestType, RequestMetrics> byType;
+
+    /**
+     * Creates a new, empty set of metrics
+     */
+    public IGCInMemoryMetrics() {
+        this.byType = new EnumMap<>(IGCRequestType.class);
+        for (IGCRequestType type : IGCRequestType.values()) {
+            byType.put(type, new RequestMetrics());
+        }
+    }
+
+    @Override
+    public void requestStarted(IGCRequestType type) {
+        byType.get(type).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void requestCompleted(IGCRequestType type, long elapsedNanos) {
+        RequestMetrics metrics = byType.get(type);
+        metrics.inFlight.decrementAndGet();
+        metrics.latency.record(elapsedNanos);
+    }
+
+    @Override
+    public void requestFailed(IGCRequestType type, long elapsedNanos, Throwable error) {
+        RequestMetrics metrics = byType.get(type);
+        metrics.inFlight.decrementAndGet();
+        metrics.latency.record(elapsedNanos);
+        metrics.errors.incrementAndGet();
+        String kind = (error == null) ? "unknown" : error.getClass().getSimpleName();
+        metrics.errorsByKind.computeIfAbsent(kind, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public void responseRead(IGCRequestType type, long bytes, long readNanos, int items) {
+        RequestMetrics metrics = byType.get(type);
+        metrics.responseBytes.record(bytes);
+        metrics.readTime.record(readNanos);
+        if (items >= 0) {
+            metrics.itemsPerPage.record(items);
+        }
+    }
+
+    /**
+     * Retrieve a point-in-time copy of all of the measurements
+     *
+     * @return IGCMetricsSnapshot
+     */
+    public IGCMetricsSnapshot getSnapshot() {
+        Map<IGCRequestType, IGCMetricsSnapshot.RequestStats> stats = new EnumMap<>(IGCRequestType.class);
+        for (Map.Entry<IGCRequestType, RequestMetrics> entry : byType.entrySet()) {
+            RequestMetrics metrics = entry.getValue();
+            Map<String, Long> errorsByKind = new ConcurrentHashMap<>();
+            metrics.errorsByKind.forEach((kind, count) -> errorsByKind.put(kind, count.get()));
+            stats.put(entry.getKey(), new IGCMetricsSnapshot.RequestStats(
+                    metrics.latency,
+                    metrics.errors.get(),
+                    errorsByKind,
+                    metrics.inFlight.get(),
+                    metrics.responseBytes,
+                    metrics.readTime,
+                    metrics.itemsPerPage));
+        }
+        return new IGCMetricsSnapshot(stats);
+    }
+
+    /**
+     * The measurements for a single kind of request
+     */
+    private static final class RequestMetrics {
+
+        private final IGCHistogram latency = new IGCHistogram();
+        private final IGCHistogram responseBytes = new IGCHistogram();
+        private final IGCHistogram readTime = new IGCHistogram();
+        private final IGCHistogram itemsPerPage = new IGCHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<String, AtomicLong> errorsByKind = new ConcurrentHashMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+    }
+
+}
@@ -0,0 +1,50 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.metrics;
+
+/**
+ * Receives measurements of every request an IGCRestClient makes (see IGCRestClient.setMetrics).
+ *
+ * Implementations are called on the threads making (or completing) requests, often concurrently, so must be
+ * thread-safe and should return quickly. See IGCInMemoryMetrics for an implementation that keeps the measurements in
+ * memory, or implement this interface to forward the measurements to an existing monitoring system.
+ */
+public interface IGCMetrics {
+
+    /**
+     * Called when a request is sent
+     *
+     * @param type - the kind of request
+     */
+    void requestStarted(IGCRequestType type);
+
+    /**
+     * Called when a request has completed successfully (including reading its response)
+     *
+     * @param type - the kind of request
+     * @param elapsedNanos - the time from sending the request to having read its response
+     */
+    void requestCompleted(IGCRequestType type, long elapsedNanos);
+
+    /**
+     * Called when a request has failed
+     *
+     * @param type - the kind of request
+     * @param elapsedNanos - the time from sending the request to its failure
+     * @param error - the reason for the failure
+     */
+    void requestFailed(IGCRequestType type, long elapsedNanos, Throwable error);
+
+    /**
+     * Called when the response to a request has been read (deserialized)
+     *
+     * Note that responses are deserialized as they stream in, so the time to read a response includes any time spent
+     * waiting on the network for the remainder of the response after its first bytes arrive
+     *
+     * @param type - the kind of request
+     * @param bytes - the size of the response body, in bytes
+     * @param readNanos - the time taken to read (deserialize) the response body
+     * @param items - the number of items in the response, if it is a page of results (otherwise -1)
+     */
+    void responseRead(IGCRequestType type, long bytes, long readNanos, int items);
+
+}
@@ -0,0 +1,156 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.metrics;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A point-in-time copy of the measurements kept by IGCInMemoryMetrics, by kind of request.
+ *
+ * The snapshot can be exported as JSON (eg. through an ObjectMapper), or printed as a table through toString.
+ */
+public class IGCMetricsSnapshot {
+
+    private static final double NANOS_PER_MS = 1000000.0;
+
+    private final Map<IGCRequestType, RequestStats> requests;
+
+    IGCMetricsSnapshot(Map<IGCRequestType, RequestStats> requests) {
+        this.requests = Collections.unmodifiableMap(requests);
+    }
+
+    /**
+     * Retrieve the measurements for every kind of request
+     *
+     * @return {@code Map<IGCRequestType, RequestStats>}
+     */
+    public Map<IGCRequestType, RequestStats> getRequests() { return requests; }
+
+    /**
+     * Retrieve the measurements for the provided kind of request
+     *
+     * @param type - the kind of request
+     * @return RequestStats
+     */
+    public RequestStats getRequests(IGCRequestType type) { return requests.get(type); }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-10s %9s %7s %9s %9s %9s %9s %9s %12s %9s %9s %9s%n",
+                "request", "count", "errors", "inFlight", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)",
+                "bytes", "read p50", "read p99", "items/pg"));
+        for (Map.Entry<IGCRequestType, RequestStats> entry : requests.entrySet()) {
+            RequestStats stats = entry.getValue();
+            if (stats.getCount() > 0 || stats.getInFlight() > 0) {
+                sb.append(String.format("%-10s %9d %7d %9d %9.1f %9.1f %9.1f %9.1f %12d %9.2f %9.2f %9.1f%n",
+                        entry.getKey(), stats.getCount(), stats.getErrors(), stats.getInFlight(),
+                        stats.getLatencyP50Ms(), stats.getLatencyP90Ms(), stats.getLatencyP99Ms(), stats.getLatencyMaxMs(),
+                        stats.getResponseBytes(), stats.getReadP50Ms(), stats.getReadP99Ms(), stats.getMeanItemsPerPage()));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The measurements for a single kind of request
+     */
+    @JsonPropertyOrder({ "count", "errors", "errorsByKind", "inFlight" })
+    public static class RequestStats {
+
+        private final long count;
+        private final long errors;
+        private final Map<String, Long> errorsByKind;
+        private final int inFlight;
+        private final double latencyMeanMs;
+        private final double latencyP50Ms;
+        private final double latencyP90Ms;
+        private final double latencyP99Ms;
+        private final double latencyMaxMs;
+        private final long responseBytes;
+        private final double meanResponseBytes;
+        private final double readP50Ms;
+        private final double readP99Ms;
+        private final double readTotalMs;
+        private final long items;
+        private final double meanItemsPerPage;
+
+        RequestStats(IGCHistogram latency,
+                     long errors,
+                     Map<String, Long> errorsByKind,
+                     int inFlight,
+                     IGCHistogram responseBytes,
+                     IGCHistogram readTime,
+                     IGCHistogram itemsPerPage) {
+            this.count = latency.getCount();
+            this.errors = errors;
+            this.errorsByKind = new TreeMap<>(errorsByKind);
+            this.inFlight = inFlight;
+            this.latencyMeanMs = latency.getMean() / NANOS_PER_MS;
+            this.latencyP50Ms = latency.getPercentile(0.50) / NANOS_PER_MS;
+            this.latencyP90Ms = latency.getPercentile(0.90) / NANOS_PER_MS;
+            this.latencyP99Ms = latency.getPercentile(0.99) / NANOS_PER_MS;
+            this.latencyMaxMs = latency.getMax() / NANOS_PER_MS;
+            this.responseBytes = responseBytes.getTotal();
+            this.meanResponseBytes = responseBytes.getMean();
+            this.readP50Ms = readTime.getPercentile(0.50) / NANOS_PER_MS;
+            this.readP99Ms = readTime.getPercentile(0.99) / NANOS_PER_MS;
+            this.readTotalMs = readTime.getTotal() / NANOS_PER_MS;
+            this.items = itemsPerPage.getTotal();
+            this.meanItemsPerPage = itemsPerPage.getMean();
+        }
+
+        /** @return long - the number of requests completed (successfully or not) */
+        public long getCount() { return count; }
+
+        /** @return long - the number of requests that failed */
+        public long getErrors() { return errors; }
+
+        /** @return {@code Map<String, Long>} - the number of requests that failed, by kind of error */
+        public Map<String, Long> getErrorsByKind() { return errorsByKind; }
+
+        /** @return int - the number of requests in flight when the snapshot was taken */
+        public int getInFlight() { return inFlight; }
+
+        /** @return double - the mean response time, in milliseconds */
+        public double getLatencyMeanMs() { return latencyMeanMs; }
+
+        /** @return double - the median response time, in milliseconds */
+        public double getLatencyP50Ms() { return latencyP50Ms; }
+
+        /** @return double - the 90th percentile response time, in milliseconds */
+        public double getLatencyP90Ms() { return latencyP90Ms; }
+
+        /** @return double - the 99th percentile response time, in milliseconds */
+        public double getLatencyP99Ms() { return latencyP99Ms; }
+
+        /** @return double - the slowest response time, in milliseconds */
+        public double getLatencyMaxMs() { return latencyMaxMs; }
+
+        /** @return long - the total size of all responses, in bytes */
+        public long getResponseBytes() { return responseBytes; }
+
+        /** @return double - the mean size of a response, in bytes */
+        public double getMeanResponseBytes() { return meanResponseBytes; }
+
+        /** @return double - the median time to read (deserialize) a response, in milliseconds */
+        public double getReadP50Ms() { return readP50Ms; }
+
+        /** @return double - the 99th percentile time to read (deserialize) a response, in milliseconds */
+        public double getReadP99Ms() { return readP99Ms; }
+
+        /** @return double - the total time spent reading (deserializing) responses, in milliseconds */
+        public double getReadTotalMs() { return readTotalMs; }
+
+        /** @return long - the total number of items received across all pages of results */
+        public long getItems() { return items; }
+
+        /** @return double - the mean number of items per page of results */
+        public double getMeanItemsPerPage() { return meanItemsPerPage; }
+
+    }
+
+}
@@ -0,0 +1,24 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.metrics;
+
+/**
+ * The kinds of request an IGCRestClient makes, against which metrics are recorded.
+ */
+public enum IGCRequestType {
+
+    /** Retrieval of the types supported by IGC */
+    TYPES,
+    /** Retrieval of a single asset by its RID */
+    ASSET,
+    /** A search (the first page of its results) */
+    SEARCH,
+    /** Retrieval of a subsequent page of results (of a search, or of an asset's relationship) */
+    NEXT_PAGE,
+    /** An update to an asset */
+    UPDATE,
+    /** Logging out of a session */
+    LOGOUT,
+    /** Any other request */
+    OTHER
+
+}
@@ -0,0 +1,110 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry of the properties of each POJO class, built once per class (when the POJO is registered with the
+ * IGCRestClient, or the first time the class is used) rather than walking the class hierarchy via reflection on
+ * every dynamic property access.
+ */
+public class ClassMetadata {
+
+    private static final Map<Class<?>, ClassMetadata> REGISTRY = new ConcurrentHashMap<>();
+
+    private final List<PropertyAccessor> allProperties;
+    private final Map<String, PropertyAccessor> propertiesByName;
+    private final List<PropertyAccessor> relationships;
+
+    /**
+     * Builds the metadata for the provided class, from all of the (non-static) fields in its class hierarchy
+     *
+     * @param clazz - the class for which to build metadata
+     */
+    private ClassMetadata(Class<?> clazz) {
+
+        // Order all properties from the top of the class hierarchy downwards
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+
+        List<PropertyAccessor> all = new ArrayList<>();
+        Map<String, PropertyAccessor> byName = new HashMap<>();
+        List<PropertyAccessor> rels = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            for (Field f : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(f.getModifiers()) && !f.isSynthetic()) {
+                    try {
+                        PropertyAccessor accessor = new PropertyAccessor(f);
+                        all.add(accessor);
+                        // Any field lower in the class hierarchy overrides (hides) one of the same name higher up
+                        byName.put(f.getName(), accessor);
+                    } catch (IllegalAccessException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+        for (PropertyAccessor accessor : all) {
+            if (accessor.getKind() == PropertyAccessor.Kind.REFERENCE_LIST && byName.get(accessor.getName()) == accessor) {
+                rels.add(accessor);
+            }
+        }
+
+        this.allProperties = Collections.unmodifiableList(all);
+        this.propertiesByName = Collections.unmodifiableMap(byName);
+        this.relationships = Collections.unmodifiableList(rels);
+
+    }
+
+    /**
+     * Retrieve the metadata for the provided class (building it, if this is the first time it is needed)
+     *
+     * @param clazz - the class for which to retrieve metadata
+     * @return ClassMetadata
+     */
+    public static ClassMetadata forClass(Class<?> clazz) {
+        ClassMetadata metadata = REGISTRY.get(clazz);
+        if (metadata == null) {
+            metadata = REGISTRY.computeIfAbsent(clazz, ClassMetadata::new);
+        }
+        return metadata;
+    }
+
+    /**
+     * Retrieve every property of the class, from the top of its class hierarchy downwards
+     *
+     * @return {@code List<PropertyAccessor>}
+     */
+    public List<PropertyAccessor> getAllProperties() {
+        return this.allProperties;
+    }
+
+    /**
+     * Retrieve the property with the provided name (the lowest in the class hierarchy, if there are several)
+     *
+     * @param name - the name of the property
+     * @return PropertyAccessor - or null if the class has no such property
+     */
+    public PropertyAccessor getProperty(String name) {
+        return this.propertiesByName.get(name);
+    }
+
+    /**
+     * Retrieve every property of the class that is a list of relationships (ReferenceList)
+     *
+     * @return {@code List<PropertyAccessor>}
+     */
+    public List<PropertyAccessor> getRelationships() {
+        return this.relationships;
+    }
+
+}
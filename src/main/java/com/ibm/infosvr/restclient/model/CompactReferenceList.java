@@ -0,0 +1,372 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A compact list of references to assets (eg. every result of a very large search), holding only the basic details
+ * of each reference (_type, _name, _id and _url) in far less memory than a list of Reference objects:
+ *  - each type is held as a code into a (small) dictionary of types
+ *  - each name is held as a code into a dictionary of names, so repeated names are held only once
+ *  - every RID is packed into a single (UTF-8 encoded) byte array
+ *  - each URL is derived from the RID (as every URL is normally the same prefix followed by the RID), and only
+ *    those URLs that cannot be derived are held
+ *
+ * Reading an item creates a new (lightweight) Reference holding the details of the item, sharing the name and type
+ * held by the list; changing that Reference does not change the list. Items can only be added (not changed or
+ * removed individually). Any properties beyond the basic details of each reference are not held.
+ *
+ * Search results can be read into the list directly (without first creating a Reference for each result) through
+ * IGCRestClient.searchCompact.
+ */
+@JsonDeserialize(using = CompactReferenceList.Deserializer.class)
+public class CompactReferenceList extends AbstractList<Reference> implements RandomAccess {
+
+    private final List<String> typeDictionary = new ArrayList<>();
+    private final Map<String, Short> typeCodes = new HashMap<>();
+    private final List<String> nameDictionary = new ArrayList<>();
+    private final Map<String, Integer> nameCodes = new HashMap<>();
+
+    private int size = 0;
+    private short[] types;
+    private int[] names;
+    private byte[] rids;
+    private int[] ridEnds;
+    private int ridsLength = 0;
+    private final BitSet nullRids = new BitSet();
+
+    // URLs are derived (prefix + RID) for items from urlPrefixFrom onwards, other than those held explicitly
+    private String urlPrefix = null;
+    private int urlPrefixFrom = 0;
+    private final Map<Integer, String> explicitUrls = new HashMap<>();
+
+    /**
+     * Creates a new, empty list
+     */
+    public CompactReferenceList() {
+        this(16);
+    }
+
+    /**
+     * Creates a new, empty list with room for the provided number of items
+     *
+     * @param capacity - the number of items to make room for up-front
+     */
+    public CompactReferenceList(int capacity) {
+        int initial = Math.max(1, capacity);
+        this.types = new short[initial];
+        this.names = new int[initial];
+        this.ridEnds = new int[initial];
+        this.rids = new byte[initial * 16];
+    }
+
+    /**
+     * Creates a new list holding the provided references
+     *
+     * @param references - the references to hold
+     */
+    public CompactReferenceList(Collection<? extends Reference> references) {
+        this(references.size());
+        addAll(references);
+    }
+
+    @Override
+    public boolean add(Reference reference) {
+        add(reference.getType(), reference.getName(), reference.getId(), reference.getUrl());
+        return true;
+    }
+
+    /**
+     * Add a reference to the end of the list from its basic details
+     *
+     * @param type - the type of the asset (_type)
+     * @param name - the name of the asset (_name)
+     * @param rid - the Repository ID of the asset (_id)
+     * @param url - the URL of the asset (_url)
+     */
+    public void add(String type, String name, String rid, String url) {
+        byte[] ridBytes = (rid == null) ? null : rid.getBytes(UTF_8);
+        append(type, name, ridBytes, 0, (ridBytes == null) ? -1 : ridBytes.length);
+        setUrl(size - 1, rid, url);
+        modCount++;
+    }
+
+    /**
+     * Add every item of another compact list to the end of this list, without creating a Reference for any item
+     *
+     * @param other - the list whose items to add
+     * @return boolean - true if any items were added
+     */
+    public boolean addAll(CompactReferenceList other) {
+        int from = other.size;
+        ensureCapacity(size + from, ridsLength + other.ridsLength);
+        for (int i = 0; i < from; i++) {
+            int start = (i == 0) ? 0 : other.ridEnds[i - 1];
+            int length = other.nullRids.get(i) ? -1 : other.ridEnds[i] - start;
+            append(other.getTypeAt(i), other.getNameAt(i), other.rids, start, length);
+            if (other.explicitUrls.containsKey(i) || i < other.urlPrefixFrom) {
+                setUrl(size - 1, null, other.getUrlAt(i));
+            } else if (length >= 0) {
+                setUrl(size - 1, other.getRidAt(i), other.getUrlAt(i));
+            }
+        }
+        modCount++;
+        return from > 0;
+    }
+
+    @Override
+    public Reference get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Reference reference = new Reference();
+        reference.setType(getTypeAt(index));
+        reference.setName(getNameAt(index));
+        reference.setId(getRidAt(index));
+        reference.setUrl(getUrlAt(index));
+        return reference;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        typeDictionary.clear();
+        typeCodes.clear();
+        nameDictionary.clear();
+        nameCodes.clear();
+        size = 0;
+        ridsLength = 0;
+        nullRids.clear();
+        urlPrefix = null;
+        urlPrefixFrom = 0;
+        explicitUrls.clear();
+        modCount++;
+    }
+
+    /**
+     * Release any room held for items beyond those already in the list
+     */
+    public void trimToSize() {
+        types = Arrays.copyOf(types, Math.max(1, size));
+        names = Arrays.copyOf(names, Math.max(1, size));
+        ridEnds = Arrays.copyOf(ridEnds, Math.max(1, size));
+        rids = Arrays.copyOf(rids, Math.max(1, ridsLength));
+    }
+
+    private String getTypeAt(int index) {
+        short code = types[index];
+        return (code < 0) ? null : typeDictionary.get(code);
+    }
+
+    private String getNameAt(int index) {
+        int code = names[index];
+        return (code < 0) ? null : nameDictionary.get(code);
+    }
+
+    private String getRidAt(int index) {
+        if (nullRids.get(index)) {
+            return null;
+        }
+        int start = (index == 0) ? 0 : ridEnds[index - 1];
+        return new String(rids, start, ridEnds[index] - start, UTF_8);
+    }
+
+    private String getUrlAt(int index) {
+        if (explicitUrls.containsKey(index)) {
+            return explicitUrls.get(index);
+        }
+        if (urlPrefix == null || index < urlPrefixFrom || nullRids.get(index)) {
+            return null;
+        }
+        return urlPrefix + getRidAt(index);
+    }
+
+    /**
+     * Append the details of an item (other than its URL) to the end of the list
+     *
+     * @param type - the type of the asset
+     * @param name - the name of the asset
+     * @param ridBytes - the array holding the (UTF-8 encoded) RID of the asset
+     * @param ridStart - the start of the RID within the array
+     * @param ridLength - the length of the RID, or -1 if the asset has no RID
+     */
+    private void append(String type, String name, byte[] ridBytes, int ridStart, int ridLength) {
+        ensureCapacity(size + 1, ridsLength + Math.max(0, ridLength));
+        types[size] = getTypeCode(type);
+        names[size] = getNameCode(name);
+        if (ridLength < 0) {
+            nullRids.set(size);
+        } else {
+            System.arraycopy(ridBytes, ridStart, rids, ridsLength, ridLength);
+            ridsLength += ridLength;
+        }
+        ridEnds[size] = ridsLength;
+        size++;
+    }
+
+    /**
+     * Record the URL of an item: derived from its RID where possible, otherwise held explicitly
+     *
+     * @param index - the index of the item
+     * @param rid - the RID of the item (or null if the URL should not be derived from it)
+     * @param url - the URL of the item
+     */
+    private void setUrl(int index, String rid, String url) {
+        if (url != null && rid != null && url.endsWith(rid)) {
+            String prefix = url.substring(0, url.length() - rid.length());
+            if (urlPrefix == null) {
+                urlPrefix = prefix;
+                urlPrefixFrom = index;
+                return;
+            } else if (urlPrefix.equals(prefix)) {
+                return;
+            }
+        }
+        if (url != null || (urlPrefix != null && !nullRids.get(index))) {
+            explicitUrls.put(index, url);
+        }
+    }
+
+    private short getTypeCode(String type) {
+        if (type == null) {
+            return -1;
+        }
+        Short code = typeCodes.get(type);
+        if (code == null) {
+            if (typeDictionary.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct types to hold: " + typeDictionary.size());
+            }
+            code = (short) typeDictionary.size();
+            typeDictionary.add(type);
+            typeCodes.put(type, code);
+        }
+        return code;
+    }
+
+    private int getNameCode(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer code = nameCodes.get(name);
+        if (code == null) {
+            code = nameDictionary.size();
+            nameDictionary.add(name);
+            nameCodes.put(name, code);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int items, int ridBytes) {
+        if (items > types.length) {
+            int capacity = Math.max(items, types.length + (types.length >> 1));
+            types = Arrays.copyOf(types, capacity);
+            names = Arrays.copyOf(names, capacity);
+            ridEnds = Arrays.copyOf(ridEnds, capacity);
+        }
+        if (ridBytes > rids.length) {
+            rids = Arrays.copyOf(rids, Math.max(ridBytes, rids.length + (rids.length >> 1)));
+        }
+    }
+
+    /**
+     * A single page of results (eg. of a search) whose items are read directly into a compact list
+     */
+    @JsonIgnoreProperties(ignoreUnknown=true)
+    public static class Page {
+
+        private Paging paging = new Paging();
+        private CompactReferenceList items = new CompactReferenceList();
+
+        @JsonProperty("paging")
+        public Paging getPaging() { return this.paging; }
+        public void setPaging(Paging paging) { this.paging = paging; }
+
+        @JsonProperty("items")
+        public CompactReferenceList getItems() { return this.items; }
+        public void setItems(CompactReferenceList items) { this.items = items; }
+
+    }
+
+    /**
+     * Reads a JSON array of references directly into a compact list, skipping any properties other than the basic
+     * details of each reference
+     */
+    public static class Deserializer extends StdDeserializer<CompactReferenceList> {
+
+        private static final long serialVersionUID = 1L;
+
+        public Deserializer() {
+            super(CompactReferenceList.class);
+        }
+
+        @Override
+        public CompactReferenceList deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            CompactReferenceList list = new CompactReferenceList();
+            if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return list;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw context.wrongTokenException(parser, CompactReferenceList.class, JsonToken.END_ARRAY, "unexpected end of input");
+                } else if (token != JsonToken.START_OBJECT) {
+                    // Skip anything other than a reference (eg. a null item)
+                    parser.skipChildren();
+                    continue;
+                }
+                String type = null;
+                String name = null;
+                String rid = null;
+                String url = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if (value.isScalarValue()) {
+                        switch (field) {
+                            case "_type": type = parser.getValueAsString(); break;
+                            case "_name": name = parser.getValueAsString(); break;
+                            case "_id": rid = parser.getValueAsString(); break;
+                            case "_url": url = parser.getValueAsString(); break;
+                            default: break;
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                list.add(type, name, rid, url);
+            }
+            return list;
+        }
+
+        @Override
+        public CompactReferenceList getNullValue(DeserializationContext context) {
+            return new CompactReferenceList();
+        }
+
+    }
+
+}
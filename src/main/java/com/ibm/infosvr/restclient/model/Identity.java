@@ -2,23 +2,42 @@
 package com.ibm.infosvr.restclient.model;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
-public class Identity {
+/**
+ * The semantic identity of an asset: its type and name, within the identity of its context (the asset that
+ * contains it, and so on up to the top of the hierarchy).
+ *
+ * Identities are immutable values, and can be used as keys of a HashMap (see also IdentityIndex). Each identity
+ * refers to (rather than copies) the identity of its parent, so parent and child identities share their common
+ * prefix; the type of each is interned (as there are only ever a limited number of types), and the hash of the whole
+ * identity is calculated only once.
+ */
+public final class Identity {
 
-    private ArrayList<String> typesInOrder;
-    private ArrayList<String> namesInOrder;
-
-    private String assetType;
-    private String assetName;
+    private final Identity parent;
+    private final String assetType;
+    private final String assetName;
+    private final int depth;
+    private final int hash;
 
     /**
      * Creates a new empty identity
      */
     public Identity() {
-        typesInOrder = new ArrayList<>();
-        namesInOrder = new ArrayList<>();
-        assetType = "";
-        assetName = "";
+        this((Identity) null, "", "");
+    }
+
+    /**
+     * Creates a new identity based on the identity characteristics provided
+     *
+     * @param context - the populated '_context' array from an asset
+     * @param assetType - the type of the asset
+     * @param assetName - the name of the asset
+     */
+    public Identity(List<Reference> context, String assetType, String assetName) {
+        this(getContextIdentity(context), assetType, assetName);
     }
 
     /**
@@ -29,35 +48,160 @@ public class Identity {
      * @param assetName - the name of the asset
      */
     public Identity(ArrayList<Reference> context, String assetType, String assetName) {
-        this();
-        for (Reference ref : context) {
-            this.typesInOrder.add(ref.getType());
-            this.namesInOrder.add(ref.getName());
-        }
-        this.assetType = assetType;
+        this((List<Reference>) context, assetType, assetName);
+    }
+
+    /**
+     * Creates a new identity for an asset within the provided (parent) identity
+     *
+     * @param parent - the identity of the asset's immediate context, or null if the asset has no context
+     * @param assetType - the type of the asset
+     * @param assetName - the name of the asset
+     */
+    public Identity(Identity parent, String assetType, String assetName) {
+        this.parent = parent;
+        this.assetType = (assetType == null) ? null : assetType.intern();
         this.assetName = assetName;
+        this.depth = (parent == null) ? 0 : parent.depth + 1;
+        int h = (parent == null) ? 0 : parent.hash;
+        h = 31 * h + ((this.assetType == null) ? 0 : this.assetType.hashCode());
+        h = 31 * h + ((this.assetName == null) ? 0 : this.assetName.hashCode());
+        this.hash = h;
+    }
+
+    /**
+     * Creates the identity of the innermost asset of the provided context (or null if the context is empty)
+     *
+     * @param context - the populated '_context' array from an asset
+     * @return Identity
+     */
+    private static Identity getContextIdentity(List<Reference> context) {
+        Identity identity = null;
+        if (context != null) {
+            for (Reference ref : context) {
+                identity = new Identity(identity, ref.getType(), ref.getName());
+            }
+        }
+        return identity;
+    }
+
+    /**
+     * Creates the identity of an asset contained within the asset that this identity represents
+     *
+     * @param assetType - the type of the contained asset
+     * @param assetName - the name of the contained asset
+     * @return Identity
+     */
+    public Identity getChildIdentity(String assetType, String assetName) {
+        return new Identity(this, assetType, assetName);
+    }
+
+    /**
+     * Retrieve the identity of the asset's immediate context
+     *
+     * @return Identity - or null if the asset has no context
+     */
+    public Identity getParentIdentity() { return this.parent; }
+
+    /**
+     * Retrieve the type of the asset
+     *
+     * @return String
+     */
+    public String getAssetType() { return this.assetType; }
+
+    /**
+     * Retrieve the name of the asset
+     *
+     * @return String
+     */
+    public String getAssetName() { return this.assetName; }
+
+    /**
+     * Retrieve the number of assets in the asset's context (0 if it has no context)
+     *
+     * @return int
+     */
+    public int getDepth() { return this.depth; }
+
+    /**
+     * Returns true iff the provided identity is this identity or that of one of the assets in its context
+     *
+     * @param prefix - the identity to check
+     * @return boolean
+     */
+    public boolean startsWith(Identity prefix) {
+        if (prefix == null || prefix.depth > this.depth) {
+            return false;
+        }
+        Identity candidate = this;
+        while (candidate.depth > prefix.depth) {
+            candidate = candidate.parent;
+        }
+        return candidate.equals((Object) prefix);
+    }
+
+    /**
+     * Returns true iff this identity is equivalent to the provided identity
+     *
+     * @param obj - the identity to compare against
+     * @return boolean
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Identity)) {
+            return false;
+        }
+        Identity a = this;
+        Identity b = (Identity) obj;
+        if (a.depth != b.depth) {
+            return false;
+        }
+        // Types are interned, so compare by reference; stop as soon as a shared prefix is reached
+        while (a != b) {
+            if (a.hash != b.hash || !same(a.assetType, b.assetType) || !same(a.assetName, b.assetName)) {
+                return false;
+            }
+            a = a.parent;
+            b = b.parent;
+        }
+        return true;
     }
 
     /**
      * Returns true iff this identity is equivalent to the provided identity
      *
-     * @param identity
+     * @param identity - the identity to compare against
      * @return Boolean
+     * @deprecated use equals(Object) instead
      */
+    @Deprecated
     public Boolean equals(Identity identity) {
-        return this.toString().equals(identity.toString());
+        return equals((Object) identity);
+    }
+
+    private static boolean same(String a, String b) {
+        return a == b || Objects.equals(a, b);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < typesInOrder.size(); i++) {
-            String type = typesInOrder.get(i);
-            String name = namesInOrder.get(i);
-            sb.append("(" + type + ")=" + name + "::");
-        }
-        sb.append("(" + assetType + ")=" + assetName);
+        appendTo(sb);
         return sb.toString();
     }
 
+    private void appendTo(StringBuilder sb) {
+        if (parent != null) {
+            parent.appendTo(sb);
+            sb.append("::");
+        }
+        sb.append('(').append(assetType).append(")=").append(assetName);
+    }
+
 }
@@ -0,0 +1,184 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.model;
+
+import com.ibm.infosvr.restclient.IGCRestClient;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of assets by their semantic identity, mapping each identity to the Repository ID (RID) of the asset.
+ *
+ * Assets can be looked up by their full identity, or all of the assets within a context can be looked up by the
+ * identity of that context (a prefix of their identities) -- eg. to match the assets in one environment against
+ * those in another, or to find duplicates. The identities held by the index share every common prefix, so the
+ * context of many assets is only held once.
+ */
+public class IdentityIndex {
+
+    private final Map<Identity, Node> nodes = new HashMap<>();
+    private int size = 0;
+
+    /**
+     * Index the provided asset's identity
+     *
+     * @param identity - the identity of the asset
+     * @param rid - the Repository ID of the asset
+     * @return String - the RID previously indexed under the identity, or null if there was none
+     */
+    public synchronized String put(Identity identity, String rid) {
+        Node node = getOrCreateNode(identity);
+        String previous = node.rid;
+        node.rid = rid;
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Index the identities of all of the provided assets, determining their identities in bulk where needed (see
+     * MainObject.populateIdentities)
+     *
+     * @param igcrest - a REST API connection to use in confirming the identities of the assets
+     * @param assets - the assets to index (can be of various types)
+     * @return Boolean indicating whether every asset's identity could be determined (true) or not (false)
+     */
+    public Boolean putAll(IGCRestClient igcrest, Collection<? extends MainObject> assets) {
+        Boolean success = MainObject.populateIdentities(igcrest, assets);
+        for (MainObject asset : assets) {
+            put(asset.getIdentity(igcrest), asset.getId());
+        }
+        return success;
+    }
+
+    /**
+     * Retrieve the RID of the asset with the provided identity
+     *
+     * @param identity - the identity of the asset
+     * @return String - or null if no asset with that identity is indexed
+     */
+    public synchronized String getRid(Identity identity) {
+        Node node = nodes.get(identity);
+        return (node == null) ? null : node.rid;
+    }
+
+    /**
+     * Returns true iff an asset with the provided identity is indexed
+     *
+     * @param identity - the identity of the asset
+     * @return boolean
+     */
+    public synchronized boolean contains(Identity identity) {
+        return getRid(identity) != null;
+    }
+
+    /**
+     * Retrieve all of the indexed assets within the provided context: those whose identity starts with the provided
+     * identity (including the asset with that identity itself, if it is indexed)
+     *
+     * @param prefix - the identity of the context
+     * @return {@code Map<Identity, String>} - the RID of each asset within the context, keyed by its identity
+     */
+    public synchronized Map<Identity, String> getWithin(Identity prefix) {
+        Map<Identity, String> within = new LinkedHashMap<>();
+        Node start = nodes.get(prefix);
+        if (start != null) {
+            Deque<Node> toVisit = new ArrayDeque<>();
+            toVisit.push(start);
+            while (!toVisit.isEmpty()) {
+                Node node = toVisit.pop();
+                if (node.rid != null) {
+                    within.put(node.identity, node.rid);
+                }
+                for (Node child : node.children) {
+                    toVisit.push(child);
+                }
+            }
+        }
+        return within;
+    }
+
+    /**
+     * Remove the asset with the provided identity from the index
+     *
+     * @param identity - the identity of the asset
+     * @return String - the RID that was indexed under the identity, or null if there was none
+     */
+    public synchronized String remove(Identity identity) {
+        Node node = nodes.get(identity);
+        if (node == null || node.rid == null) {
+            return null;
+        }
+        String removed = node.rid;
+        node.rid = null;
+        size--;
+        // Drop any part of the identity that is no longer needed by another indexed asset
+        while (node != null && node.rid == null && node.children.isEmpty()) {
+            nodes.remove(node.identity);
+            if (node.parent != null) {
+                node.parent.children.remove(node);
+            }
+            node = node.parent;
+        }
+        return removed;
+    }
+
+    /**
+     * Retrieve the number of assets indexed
+     *
+     * @return int
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Retrieve the node for the provided identity, creating it (and any of its context not yet held) if needed; the
+     * identity held by a new node re-uses the identity already held for its context
+     *
+     * @param identity - the identity for which to retrieve a node
+     * @return Node
+     */
+    private Node getOrCreateNode(Identity identity) {
+        Node node = nodes.get(identity);
+        if (node == null) {
+            Identity parentIdentity = identity.getParentIdentity();
+            Node parentNode = (parentIdentity == null) ? null : getOrCreateNode(parentIdentity);
+            Identity shared = identity;
+            if (parentNode != null && parentNode.identity != parentIdentity) {
+                shared = new Identity(parentNode.identity, identity.getAssetType(), identity.getAssetName());
+            }
+            node = new Node(shared, parentNode);
+            if (parentNode != null) {
+                parentNode.children.add(node);
+            }
+            nodes.put(shared, node);
+        }
+        return node;
+    }
+
+    /**
+     * A single identity held by the index, whether of an indexed asset or only of the context of indexed assets
+     */
+    private static final class Node {
+
+        private final Identity identity;
+        private final Node parent;
+        private final Set<Node> children = new LinkedHashSet<>();
+        private String rid = null;
+
+        private Node(Identity identity, Node parent) {
+            this.identity = identity;
+            this.parent = parent;
+        }
+
+    }
+
+}
@@ -3,13 +3,18 @@ package com.ibm.infosvr.restclient.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ibm.infosvr.restclient.IGCBulkResult;
 import com.ibm.infosvr.restclient.IGCRestClient;
 import com.ibm.infosvr.restclient.search.IGCSearch;
 import com.ibm.infosvr.restclient.search.IGCSearchCondition;
 import com.ibm.infosvr.restclient.search.IGCSearchConditionSet;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The supertype of the vast majority of IGC objects.
@@ -131,4 +136,61 @@ public abstract class MainObject extends Reference {
         return this.identity;
     }
 
+    /**
+     * Ensures that the _context of each of the provided assets is populated (takes no action for those already
+     * populated), retrieving the contexts in bulk: one request per chunk of assets of the same type, rather than one
+     * request per asset
+     *
+     * @param igcrest - a REST API connection to use in populating the contexts
+     * @param assets - the assets whose contexts should be populated (can be of various types)
+     * @return Boolean indicating whether every _context was successfully / already populated (true) or not (false)
+     */
+    public static Boolean populateContexts(IGCRestClient igcrest, Collection<? extends MainObject> assets) {
+        Map<String, List<String>> ridsByType = new LinkedHashMap<>();
+        List<MainObject> toPopulate = new ArrayList<>();
+        for (MainObject asset : assets) {
+            if (asset.name == null && asset._context.size() == 0) {
+                ridsByType.computeIfAbsent(asset.getType(), k -> new ArrayList<>()).add(asset.getId());
+                toPopulate.add(asset);
+            }
+        }
+        if (toPopulate.isEmpty()) {
+            return true;
+        }
+        Boolean success = true;
+        IGCBulkResult assetsWithCtx = igcrest.getAssetsByIds(ridsByType, new String[]{ "name" });
+        for (MainObject asset : toPopulate) {
+            Reference assetWithCtx = assetsWithCtx.getAsset(asset.getId());
+            if (assetWithCtx instanceof MainObject) {
+                asset.name = assetWithCtx.getName();
+                asset._context = ((MainObject)assetWithCtx)._context;
+            } else {
+                success = false;
+            }
+        }
+        return success;
+    }
+
+    /**
+     * Ensures that the semantic identity of each of the provided assets is determined, populating their contexts in
+     * bulk where needed (see populateContexts)
+     *
+     * @param igcrest - a REST API connection to use in confirming the identities of the assets
+     * @param assets - the assets whose identities should be determined (can be of various types)
+     * @return Boolean indicating whether every _context was successfully / already populated (true) or not (false)
+     */
+    public static Boolean populateIdentities(IGCRestClient igcrest, Collection<? extends MainObject> assets) {
+        List<MainObject> toIdentify = new ArrayList<>();
+        for (MainObject asset : assets) {
+            if (asset.identity == null) {
+                toIdentify.add(asset);
+            }
+        }
+        Boolean success = populateContexts(igcrest, toIdentify);
+        for (MainObject asset : toIdentify) {
+            asset.identity = new Identity(asset._context, asset.getType(), asset.getName());
+        }
+        return success;
+    }
+
 }
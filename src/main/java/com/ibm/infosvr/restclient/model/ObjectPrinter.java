@@ -1,59 +1,79 @@
 /* SPDX-License-Identifier: Apache-2.0 */
 package com.ibm.infosvr.restclient.model;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Arrays;
 
 public abstract class ObjectPrinter {
 
+    private static volatile int toStringMaxItems = ObjectSerializer.UNLIMITED;
+
     /**
-     * Recurse up the class hierarchy to retrieve all fields that might hold data on an object
+     * Retrieve all fields, from across the class hierarchy, that might hold data on an object
      *
-     * @param clazz - starting point for recursive retrieval of Fields
+     * @param clazz - the class whose Fields to retrieve
      * @return ArrayList of all Fields
      */
-    protected ArrayList<Field> getAllFields(Class clazz) {
-        ArrayList<Field> al;
-        Class superClazz = clazz.getSuperclass();
-        if (superClazz != null) {
-            al = getAllFields(superClazz);
-        } else {
-            al = new ArrayList<Field>();
+    protected ArrayList<Field> getAllFields(Class<?> clazz) {
+        ArrayList<Field> al = new ArrayList<Field>();
+        for (PropertyAccessor property : ClassMetadata.forClass(clazz).getAllProperties()) {
+            al.add(property.getField());
         }
-        al.addAll(Arrays.asList(clazz.getDeclaredFields()));
         return al;
     }
 
+    /**
+     * Write this object as JSON (see ObjectSerializer), truncating any lists of relationships to the same number of
+     * items as toString
+     *
+     * @param writer - the writer to which to write the JSON (flushed, but not closed)
+     * @throws IOException if the JSON could not be written
+     */
+    public void print(Writer writer) throws IOException {
+        ObjectSerializer.write(this, writer, toStringMaxItems);
+    }
+
+    /**
+     * Write this object as JSON (see ObjectSerializer), truncating any lists of relationships to the provided number
+     * of items
+     *
+     * @param writer - the writer to which to write the JSON (flushed, but not closed)
+     * @param maxItems - the maximum number of items to write from each list of relationships (or
+     *                 ObjectSerializer.UNLIMITED)
+     * @throws IOException if the JSON could not be written
+     */
+    public void print(Writer writer, int maxItems) throws IOException {
+        ObjectSerializer.write(this, writer, maxItems);
+    }
+
+    /**
+     * Write this object as (UTF-8 encoded) JSON (see ObjectSerializer), truncating any lists of relationships to the
+     * provided number of items
+     *
+     * @param out - the stream to which to write the JSON (flushed, but not closed)
+     * @param maxItems - the maximum number of items to write from each list of relationships (or
+     *                 ObjectSerializer.UNLIMITED)
+     * @throws IOException if the JSON could not be written
+     */
+    public void print(OutputStream out, int maxItems) throws IOException {
+        ObjectSerializer.write(this, out, maxItems);
+    }
+
+    /**
+     * Set the maximum number of items toString will include from each list of relationships (by default, all of them)
+     *
+     * @param maxItems - the maximum number of items (or ObjectSerializer.UNLIMITED)
+     */
+    public static void setToStringMaxItems(int maxItems) {
+        toStringMaxItems = maxItems;
+    }
+
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{ \"" + getClass().getName() + "\"");
-        sb.append(": { ");
-        try {
-            for (Field f : getAllFields(getClass())) {
-                if (!f.isAccessible()) {
-                    f.setAccessible(true);
-                }
-                sb.append("\"" + f.getName() + "\"");
-                sb.append(": ");
-                Object value = f.get(this);
-                if (value == null) {
-                    sb.append("\"null\"");
-                } else if (Reference.isSimpleType(value)) {
-                    sb.append("\"" + value + "\"");
-                } else {
-                    sb.append(value);
-                }
-                sb.append(", ");
-            }
-            // Get rid of the extra comma left at the end
-            sb.deleteCharAt(sb.length() - 2);
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
-        }
-        sb.append("}}");
-        return sb.toString();
+        return ObjectSerializer.toString(this, toStringMaxItems);
     }
 
 }
@@ -0,0 +1,180 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.model;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes POJOs (anything extending ObjectPrinter) as JSON, streaming directly to a Writer or OutputStream rather
+ * than building up intermediate strings. Each object is written as its class name wrapping all of its properties, eg.:
+ *   { "com.ibm.infosvr.restclient.model.Reference": { "_name": "...", "_type": "...", ... } }
+ *
+ * The properties of each class are retrieved through its (cached) ClassMetadata. Lists of relationships
+ * (ReferenceLists) can be truncated to a maximum number of items, in which case the number of items omitted is
+ * written alongside them (as "_omitted").
+ */
+public final class ObjectSerializer {
+
+    /** Write every item of every list of relationships */
+    public static final int UNLIMITED = -1;
+
+    private static final JsonFactory FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private ObjectSerializer() { }
+
+    /**
+     * Write the provided object as JSON
+     *
+     * @param value - the object to write
+     * @param writer - the writer to which to write the JSON (flushed, but not closed)
+     * @throws IOException if the JSON could not be written
+     */
+    public static void write(Object value, Writer writer) throws IOException {
+        write(value, writer, UNLIMITED);
+    }
+
+    /**
+     * Write the provided object as JSON, truncating any lists of relationships to the provided number of items
+     *
+     * @param value - the object to write
+     * @param writer - the writer to which to write the JSON (flushed, but not closed)
+     * @param maxItems - the maximum number of items to write from each list of relationships (or UNLIMITED)
+     * @throws IOException if the JSON could not be written
+     */
+    public static void write(Object value, Writer writer, int maxItems) throws IOException {
+        try (JsonGenerator generator = FACTORY.createGenerator(writer)) {
+            writeValue(generator, value, maxItems);
+        }
+    }
+
+    /**
+     * Write the provided object as (UTF-8 encoded) JSON, truncating any lists of relationships to the provided number
+     * of items
+     *
+     * @param value - the object to write
+     * @param out - the stream to which to write the JSON (flushed, but not closed)
+     * @param maxItems - the maximum number of items to write from each list of relationships (or UNLIMITED)
+     * @throws IOException if the JSON could not be written
+     */
+    public static void write(Object value, OutputStream out, int maxItems) throws IOException {
+        try (JsonGenerator generator = FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            writeValue(generator, value, maxItems);
+        }
+    }
+
+    /**
+     * Retrieve the provided object as a JSON string, truncating any lists of relationships to the provided number of
+     * items
+     *
+     * @param value - the object to write
+     * @param maxItems - the maximum number of items to write from each list of relationships (or UNLIMITED)
+     * @return String
+     */
+    public static String toString(Object value, int maxItems) {
+        StringWriter writer = new StringWriter();
+        try {
+            write(value, writer, maxItems);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return writer.toString();
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value, int maxItems) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof ObjectPrinter) {
+            writeObject(generator, (ObjectPrinter) value, maxItems);
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Number) {
+            writeNumber(generator, (Number) value);
+        } else if (value instanceof Date) {
+            // As IGC itself represents dates (epoch milliseconds)
+            generator.writeNumber(((Date) value).getTime());
+        } else if (value instanceof Collection) {
+            writeArray(generator, (Collection<?>) value, UNLIMITED, maxItems);
+        } else if (value instanceof Map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(generator, entry.getValue(), maxItems);
+            }
+            generator.writeEndObject();
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+
+    private static void writeObject(JsonGenerator generator, ObjectPrinter object, int maxItems) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(object.getClass().getName());
+        generator.writeStartObject();
+        for (PropertyAccessor property : ClassMetadata.forClass(object.getClass()).getAllProperties()) {
+            Object value = property.get(object);
+            generator.writeFieldName(property.getName());
+            if (object instanceof ReferenceList && value instanceof List && property.getName().equals("items")) {
+                int omitted = writeArray(generator, (List<?>) value, maxItems, maxItems);
+                if (omitted > 0) {
+                    generator.writeNumberField("_omitted", omitted);
+                }
+            } else {
+                writeValue(generator, value, maxItems);
+            }
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Write the provided collection as a JSON array
+     *
+     * @return int - the number of items omitted from the array
+     */
+    private static int writeArray(JsonGenerator generator, Collection<?> values, int limit, int maxItems) throws IOException {
+        int written = 0;
+        generator.writeStartArray();
+        Iterator<?> iterator = values.iterator();
+        while (iterator.hasNext() && (limit < 0 || written < limit)) {
+            writeValue(generator, iterator.next(), maxItems);
+            written++;
+        }
+        generator.writeEndArray();
+        return values.size() - written;
+    }
+
+    private static void writeNumber(JsonGenerator generator, Number value) throws IOException {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(value.intValue());
+        } else if (value instanceof Long) {
+            generator.writeNumber(value.longValue());
+        } else if (value instanceof Double) {
+            generator.writeNumber(value.doubleValue());
+        } else if (value instanceof Float) {
+            generator.writeNumber(value.floatValue());
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber((BigInteger) value);
+        } else {
+            generator.writeNumber(value.toString());
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.model;
+
+import com.ibm.infosvr.restclient.IGCRestClient;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates through every item of a paged set of results (search results or relationships), retrieving each
+ * subsequent page only once the previous page has been consumed.
+ *
+ * Only a single page of results is held at any one time, so the memory used remains roughly constant regardless
+ * of the total number of results being iterated through.
+ */
+public class PagedReferenceIterator implements Iterator<Reference> {
+
+    private IGCRestClient igcrest;
+
+    private List<Reference> page;
+    private Paging paging;
+    private int index;
+
+    /**
+     * Creates a new iterator starting from the provided (first) page of results
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve subsequent pages
+     * @param firstPage - the first page of results from which to start iterating
+     */
+    public PagedReferenceIterator(IGCRestClient igcrest, ReferenceList firstPage) {
+        this.igcrest = igcrest;
+        this.index = 0;
+        if (firstPage != null) {
+            this.page = firstPage.getItems();
+            this.paging = firstPage.getPaging();
+        } else {
+            this.page = new ArrayList<>();
+            this.paging = new Paging();
+        }
+    }
+
+    /**
+     * Returns true iff there is another page of results yet to be retrieved
+     *
+     * @return boolean
+     */
+    private boolean hasNextPage() {
+        return (this.paging != null && this.paging.getNextPageURL() != null);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (this.index >= this.page.size()) {
+            if (!hasNextPage()) {
+                return false;
+            }
+            // Replace (rather than add to) the page we have already consumed
+            ReferenceList nextPage = igcrest.getNextPage(this.paging);
+            this.page = nextPage.getItems();
+            this.paging = nextPage.getPaging();
+            this.index = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public Reference next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.page.get(this.index++);
+    }
+
+}
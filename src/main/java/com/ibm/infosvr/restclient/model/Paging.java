@@ -1,9 +1,15 @@
 /* SPDX-License-Identifier: Apache-2.0 */
 package com.ibm.infosvr.restclient.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 @JsonIgnoreProperties(ignoreUnknown=true)
 public class Paging extends ObjectPrinter {
 
@@ -68,4 +74,28 @@ public class Paging extends ObjectPrinter {
         return (this.numTotal > this.end);
     }
 
+    /**
+     * Calculates the URLs of every remaining (unretrieved) page, based on the "next" URL and the total number
+     * of objects and size of each page -- so that the remaining pages can be retrieved independently of each other
+     * ... or null if the URLs cannot be calculated (eg. the "next" URL does not indicate where its page begins)
+     *
+     * @return {@code List<String>} - the URL of each remaining page, in order
+     */
+    @JsonIgnore
+    public List<String> getRemainingPageURLs() {
+        List<String> urls = null;
+        if (this.next != null && this.pageSize != null && this.pageSize > 0 && this.numTotal != null) {
+            Matcher m = Pattern.compile("[?&]begin=(\\d+)").matcher(this.next);
+            if (m.find()) {
+                urls = new ArrayList<>();
+                String prefix = this.next.substring(0, m.start(1));
+                String suffix = this.next.substring(m.end(1));
+                for (int begin = Integer.parseInt(m.group(1)); begin < this.numTotal; begin += this.pageSize) {
+                    urls.add(prefix + begin + suffix);
+                }
+            }
+        }
+        return urls;
+    }
+
 }
@@ -0,0 +1,176 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.model;
+
+import com.ibm.infosvr.restclient.IGCRestClient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates through every item of a paged set of results (search results or relationships), retrieving the
+ * remaining pages concurrently rather than one after another.
+ *
+ * Once the first page is known, the URL of every remaining page is calculated up-front (see
+ * Paging.getRemainingPageURLs) and up to 'parallelism' of those pages are retrieved at any one time. Pages are
+ * handed out either in their original order, or in whatever order they are retrieved (unordered), as chosen when
+ * creating the iterator. Only roughly 'parallelism' pages are held in memory at any one time.
+ *
+ * If the remaining page URLs cannot be calculated, this falls back to retrieving the pages one after another.
+ */
+public class ParallelPagedReferenceIterator implements Iterator<Reference> {
+
+    private Iterator<Reference> sequential = null;
+
+    private IGCRestClient igcrest;
+    private boolean ordered;
+
+    private Iterator<String> remainingURLs;
+    private ThreadPoolExecutor executor;
+    private CompletionService<ReferenceList> completionService;
+    private Deque<Future<ReferenceList>> inFlight;
+    private int numInFlight;
+
+    private List<Reference> page;
+    private int index;
+
+    /**
+     * Creates a new iterator starting from the provided (first) page of results
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve subsequent pages
+     * @param firstPage - the first page of results from which to start iterating
+     * @param parallelism - the maximum number of pages to retrieve concurrently
+     * @param ordered - whether to return items in their original order (true) or as soon as retrieved (false)
+     */
+    public ParallelPagedReferenceIterator(IGCRestClient igcrest, ReferenceList firstPage, int parallelism, boolean ordered) {
+
+        List<String> urls = (firstPage == null) ? null : firstPage.getPaging().getRemainingPageURLs();
+        if (urls == null || parallelism < 2) {
+            this.sequential = new PagedReferenceIterator(igcrest, firstPage);
+        } else {
+
+            this.igcrest = igcrest;
+            this.ordered = ordered;
+            this.page = firstPage.getItems();
+            this.index = 0;
+            this.remainingURLs = urls.iterator();
+            this.inFlight = new ArrayDeque<>();
+            this.numInFlight = 0;
+
+            int numThreads = Math.max(1, Math.min(parallelism, urls.size()));
+            this.executor = new ThreadPoolExecutor(numThreads, numThreads, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "igc-page-fetcher");
+                t.setDaemon(true);
+                return t;
+            });
+            // Ensure threads are not left behind if the iterator is abandoned before being fully consumed
+            this.executor.allowCoreThreadTimeOut(true);
+            this.completionService = new ExecutorCompletionService<>(executor);
+
+            for (int i = 0; i < numThreads; i++) {
+                submitNextPage();
+            }
+
+        }
+
+    }
+
+    /**
+     * Submit the next remaining page (if any) to be retrieved
+     */
+    private void submitNextPage() {
+        if (remainingURLs.hasNext()) {
+            Paging toRetrieve = new Paging();
+            toRetrieve.setNextPageURL(remainingURLs.next());
+            Callable<ReferenceList> retrieval = () -> igcrest.getNextPage(toRetrieve);
+            if (ordered) {
+                inFlight.add(executor.submit(retrieval));
+            } else {
+                completionService.submit(retrieval);
+            }
+            numInFlight++;
+        }
+    }
+
+    /**
+     * Wait for the next page to be retrieved: either the next in order, or whichever is retrieved first
+     *
+     * @return ReferenceList - the retrieved page
+     */
+    private ReferenceList takeNextPage() {
+        try {
+            Future<ReferenceList> future;
+            if (ordered) {
+                future = inFlight.poll();
+            } else {
+                future = completionService.take();
+            }
+            numInFlight--;
+            ReferenceList nextPage = future.get();
+            submitNextPage();
+            if (numInFlight == 0) {
+                executor.shutdown();
+            }
+            return nextPage;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new IllegalStateException("Interrupted while retrieving a page of results.", e);
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            throw new IllegalStateException("Unable to retrieve a page of results.", e.getCause());
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (sequential != null) {
+            return sequential.hasNext();
+        }
+        while (index >= page.size()) {
+            if (numInFlight == 0) {
+                return false;
+            }
+            // Replace (rather than add to) the page we have already consumed
+            page = takeNextPage().getItems();
+            index = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public Reference next() {
+        if (sequential != null) {
+            return sequential.next();
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.get(index++);
+    }
+
+    /**
+     * Retrieve every remaining item into a single list (in the order in which this iterator returns them)
+     *
+     * @return {@code ArrayList<Reference>}
+     */
+    public ArrayList<Reference> toList() {
+        ArrayList<Reference> all = new ArrayList<>();
+        while (hasNext()) {
+            all.add(next());
+        }
+        return all;
+    }
+
+}
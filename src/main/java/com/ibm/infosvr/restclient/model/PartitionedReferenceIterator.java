@@ -0,0 +1,166 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.model;
+
+import com.ibm.infosvr.restclient.IGCRestClient;
+import com.ibm.infosvr.restclient.search.IGCSearch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates through every result of a number of disjoint searches (eg. the partitions of a single search, see
+ * IGCSearch.partition), running up to 'parallelism' of the searches concurrently and merging their results.
+ *
+ * Each search pages through its own results one page after another, so no search is paged any deeper than its own
+ * results. Pages are handed out in whatever order they are retrieved; only roughly twice 'parallelism' pages are held
+ * in memory at any one time, as the searches wait for pages to be consumed before retrieving any more.
+ *
+ * If the iterator is abandoned before being fully consumed, it should be closed so that the searches stop.
+ */
+public class PartitionedReferenceIterator implements Iterator<Reference>, AutoCloseable {
+
+    // Marks the end of the results of one of the searches
+    private static final List<Reference> DONE = new ArrayList<>();
+
+    private IGCRestClient igcrest;
+    private ThreadPoolExecutor executor;
+    private BlockingQueue<List<Reference>> pages;
+    private int numRunning;
+    private volatile boolean closed = false;
+    private volatile RuntimeException failure = null;
+
+    private List<Reference> page;
+    private int index;
+
+    /**
+     * Creates a new iterator that immediately starts running the provided searches
+     *
+     * @param igcrest - the IGCRestClient connection to use to run the searches
+     * @param searches - the searches whose results to iterate through (whose results should not overlap)
+     * @param parallelism - the maximum number of searches to run concurrently
+     */
+    public PartitionedReferenceIterator(IGCRestClient igcrest, List<IGCSearch> searches, int parallelism) {
+
+        this.igcrest = igcrest;
+        this.page = new ArrayList<>();
+        this.index = 0;
+        this.numRunning = searches.size();
+
+        int numThreads = Math.max(1, Math.min(parallelism, searches.size()));
+        this.pages = new ArrayBlockingQueue<>(2 * numThreads);
+        this.executor = new ThreadPoolExecutor(numThreads, numThreads, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "igc-partition-fetcher");
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+
+        for (IGCSearch search : searches) {
+            executor.execute(() -> runSearch(search));
+        }
+        executor.shutdown();
+
+    }
+
+    /**
+     * Run the provided search, handing out each page of its results as it is retrieved (and waiting for room to do so)
+     *
+     * @param search - the search to run
+     */
+    private void runSearch(IGCSearch search) {
+        try {
+            if (!closed) {
+                ReferenceList results = igcrest.search(search);
+                while (put(results.getItems())) {
+                    Paging paging = results.getPaging();
+                    if (paging == null || paging.getNextPageURL() == null) {
+                        break;
+                    }
+                    results = igcrest.getNextPage(paging);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        } finally {
+            put(DONE);
+        }
+    }
+
+    /**
+     * Hand out a page of results, waiting until there is room for it (or the iterator has been closed)
+     *
+     * @param items - the page of results
+     * @return boolean - true if the page was handed out, false if the iterator has been closed
+     */
+    private boolean put(List<Reference> items) {
+        if (items == null) {
+            return !closed;
+        }
+        try {
+            while (!closed) {
+                if (pages.offer(items, 100, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index >= page.size()) {
+            if (numRunning == 0 || closed) {
+                return false;
+            }
+            List<Reference> next;
+            try {
+                next = pages.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("Interrupted while retrieving a page of results.", e);
+            }
+            if (next == DONE) {
+                numRunning--;
+                if (failure != null) {
+                    close();
+                    throw new IllegalStateException("Unable to retrieve a partition of results.", failure);
+                }
+            } else {
+                // Replace (rather than add to) the page we have already consumed
+                page = next;
+                index = 0;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Reference next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.get(index++);
+    }
+
+    /**
+     * Stop running the searches (any results not yet consumed are discarded)
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+    }
+
+}
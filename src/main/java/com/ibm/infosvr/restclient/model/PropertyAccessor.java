@@ -0,0 +1,83 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.model;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Provides fast access to a single property (field) of a POJO, along with the kind of property it is: a simple
+ * type (String, Number, Boolean, Date, etc), a relationship (Reference) or a list of relationships (ReferenceList).
+ *
+ * Accessors are built once per class by ClassMetadata, rather than looking up the field on every access.
+ */
+public class PropertyAccessor {
+
+    public enum Kind { SIMPLE, REFERENCE, REFERENCE_LIST }
+
+    private final String name;
+    private final Field field;
+    private final Kind kind;
+    private final MethodHandle getter;
+
+    /**
+     * Creates a new accessor for the provided field
+     *
+     * @param field - the field for which to create an accessor
+     * @throws IllegalAccessException if the field cannot be made accessible
+     */
+    PropertyAccessor(Field field) throws IllegalAccessException {
+        this.name = field.getName();
+        this.field = field;
+        if (field.getType() == Reference.class) {
+            this.kind = Kind.REFERENCE;
+        } else if (field.getType() == ReferenceList.class) {
+            this.kind = Kind.REFERENCE_LIST;
+        } else {
+            this.kind = Kind.SIMPLE;
+        }
+        field.setAccessible(true);
+        this.getter = MethodHandles.lookup()
+                .unreflectGetter(field)
+                .asType(MethodType.methodType(Object.class, Object.class));
+    }
+
+    /**
+     * Retrieve the name of the property
+     *
+     * @return String
+     */
+    public String getName() { return this.name; }
+
+    /**
+     * Retrieve the underlying field of the property
+     *
+     * @return Field
+     */
+    public Field getField() { return this.field; }
+
+    /**
+     * Retrieve the kind of property (simple, relationship or list of relationships)
+     *
+     * @return Kind
+     */
+    public Kind getKind() { return this.kind; }
+
+    /**
+     * Retrieve the value of the property from the provided object
+     *
+     * @param obj - the object from which to retrieve the property's value
+     * @return Object - the value of the property (eg. String, Reference, etc)
+     */
+    public Object get(Object obj) {
+        try {
+            return (Object) getter.invokeExact(obj);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Unable to retrieve property '" + name + "'.", t);
+        }
+    }
+
+}
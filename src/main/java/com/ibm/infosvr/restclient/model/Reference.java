@@ -2,12 +2,15 @@
 package com.ibm.infosvr.restclient.model;
 
 import com.fasterxml.jackson.annotation.*;
+import com.ibm.infosvr.restclient.IGCDeadline;
 import com.ibm.infosvr.restclient.IGCRestClient;
 import com.ibm.infosvr.restclient.search.IGCSearch;
 import com.ibm.infosvr.restclient.search.IGCSearchCondition;
 import com.ibm.infosvr.restclient.search.IGCSearchConditionSet;
 
 import java.lang.reflect.Field;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * The ultimate parent object for IGC assets, it contains only the most basic information common to every single
@@ -82,6 +85,18 @@ public class Reference extends ObjectPrinter {
         return igcrest.getAssetById(this._id);
     }
 
+    /**
+     * Asynchronously retrieve the asset details from a minimal reference stub
+     *
+     * Note that this will only include the first page of any relationships
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve the details
+     * @return {@code CompletableFuture<Reference>} - the object including all of its details
+     */
+    public CompletableFuture<Reference> getAssetDetailsAsync(IGCRestClient igcrest) {
+        return igcrest.getAssetByIdAsync(this._id);
+    }
+
     /**
      * Retrieve all of the asset details, including all relationships, from a minimal reference stub
      *
@@ -95,42 +110,71 @@ public class Reference extends ObjectPrinter {
      * @return Reference - the object including all of its details and relationships
      */
     public Reference getFullAssetDetails(IGCRestClient igcrest) {
+        return getFullAssetDetails(igcrest, RelationshipExpander.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Retrieve all of the asset details, including all relationships, from a minimal reference stub -- retrieving
+     * the pages of all relationships concurrently, with no more than 'maxConcurrency' requests in flight at once
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve the details and relationships
+     * @param maxConcurrency - the maximum number of requests to have in flight at any one time
+     * @return Reference - the object including all of its details and relationships
+     */
+    public Reference getFullAssetDetails(IGCRestClient igcrest, int maxConcurrency) {
         Reference asset = this.getAssetDetails(igcrest);
+        return new RelationshipExpander(igcrest, maxConcurrency).expand(asset);
+    }
+
+    /**
+     * Asynchronously retrieve all of the asset details, including all relationships, from a minimal reference stub
+     * -- retrieving the pages of all relationships concurrently, with no more than 'maxConcurrency' requests in
+     * flight at once
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve the details and relationships
+     * @param maxConcurrency - the maximum number of requests to have in flight at any one time
+     * @return {@code CompletableFuture<Reference>} - the object including all of its details and relationships
+     */
+    public CompletableFuture<Reference> getFullAssetDetailsAsync(IGCRestClient igcrest, int maxConcurrency) {
+        return getFullAssetDetailsAsync(igcrest, maxConcurrency, null);
+    }
+
+    /**
+     * Retrieve all of the asset details, including all relationships, from a minimal reference stub -- failing (with
+     * a TimeoutException) as soon as the provided deadline passes, rather than waiting on its slowest request
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve the details and relationships
+     * @param maxConcurrency - the maximum number of requests to have in flight at any one time
+     * @param deadline - the deadline by which all details and relationships must be retrieved
+     * @return Reference - the object including all of its details and relationships
+     */
+    public Reference getFullAssetDetails(IGCRestClient igcrest, int maxConcurrency, IGCDeadline deadline) {
         try {
-            for (Field f : getClass().getFields()) {
-                Class fieldClass = f.getType();
-                if (fieldClass == ReferenceList.class) {
-                    // Uses reflection to call getAllPages on any ReferenceList fields
-                    Object relationship = f.get(asset);
-                    if (relationship != null) {
-                        ((ReferenceList) relationship).getAllPages(igcrest);
-                    }
-                }
+            return getFullAssetDetailsAsync(igcrest, maxConcurrency, deadline).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
+            throw e;
         }
-        return asset;
     }
 
     /**
-     * Recursively traverses the class hierarchy upwards to find the field
+     * Asynchronously retrieve all of the asset details, including all relationships, from a minimal reference stub
+     * -- failing (with a TimeoutException) as soon as the provided deadline passes, rather than waiting on its slowest
+     * request
      *
-     * @param name - the name of the field to find
-     * @param clazz - the class in which to search (and recurse upwards on its class hierarchy)
-     * @return Field first found (lowest level of class hierarchy), or null if never found
+     * @param igcrest - the IGCRestClient connection to use to retrieve the details and relationships
+     * @param maxConcurrency - the maximum number of requests to have in flight at any one time
+     * @param deadline - the deadline by which all details and relationships must be retrieved (or null for no deadline)
+     * @return {@code CompletableFuture<Reference>} - the object including all of its details and relationships
      */
-    private static Field _recursePropertyByName(String name, Class clazz) {
-        Field f = null;
-        Class superClazz = clazz.getSuperclass();
-        if (superClazz != null) {
-            try {
-                f = superClazz.getDeclaredField(name);
-            } catch (NoSuchFieldException e) {
-                f = Reference._recursePropertyByName(name, superClazz);
-            }
+    public CompletableFuture<Reference> getFullAssetDetailsAsync(IGCRestClient igcrest, int maxConcurrency, IGCDeadline deadline) {
+        RelationshipExpander expander = new RelationshipExpander(igcrest, maxConcurrency, deadline);
+        if (deadline == null) {
+            return this.getAssetDetailsAsync(igcrest).thenCompose(expander::expandAsync);
         }
-        return f;
+        return deadline.start(() -> this.getAssetDetailsAsync(igcrest)).thenCompose(expander::expandAsync);
     }
 
     /**
@@ -140,13 +184,8 @@ public class Reference extends ObjectPrinter {
      * @return Field
      */
     public Field getFieldByName(String name) {
-        Field field;
-        try {
-            field = this.getClass().getDeclaredField(name);
-        } catch (NoSuchFieldException e) {
-            field = Reference._recursePropertyByName(name, this.getClass());
-        }
-        return field;
+        PropertyAccessor property = ClassMetadata.forClass(this.getClass()).getProperty(name);
+        return (property == null) ? null : property.getField();
     }
 
     /**
@@ -156,16 +195,8 @@ public class Reference extends ObjectPrinter {
      * @return Object - an object representing that property (eg. String, Reference, etc)
      */
     public Object getPropertyByName(String name) {
-        Object value = null;
-        Field property = getFieldByName(name);
-        if (property != null) {
-            try {
-                value = property.get(this);
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
-            }
-        }
-        return value;
+        PropertyAccessor property = ClassMetadata.forClass(this.getClass()).getProperty(name);
+        return (property == null) ? null : property.get(this);
     }
 
     /**
@@ -185,8 +216,7 @@ public class Reference extends ObjectPrinter {
      * @return Boolean
      */
     public Boolean isReference(String propertyName) {
-        Field property = getFieldByName(propertyName);
-        return (property.getType() == Reference.class);
+        return isPropertyOfKind(propertyName, PropertyAccessor.Kind.REFERENCE);
     }
 
     /**
@@ -206,8 +236,7 @@ public class Reference extends ObjectPrinter {
      * @return Boolean
      */
     public Boolean isReferenceList(String propertyName) {
-        Field property = getFieldByName(propertyName);
-        return (property.getType() == ReferenceList.class);
+        return isPropertyOfKind(propertyName, PropertyAccessor.Kind.REFERENCE_LIST);
     }
 
     /**
@@ -227,8 +256,19 @@ public class Reference extends ObjectPrinter {
      * @return Boolean
      */
     public Boolean isSimpleType(String propertyName) {
-        Field property = getFieldByName(propertyName);
-        return (property.getType() != Reference.class && property.getType() != ReferenceList.class);
+        return isPropertyOfKind(propertyName, PropertyAccessor.Kind.SIMPLE);
+    }
+
+    /**
+     * Returns true iff the provided property name of this object exists and is of the provided kind
+     *
+     * @param propertyName
+     * @param kind
+     * @return Boolean
+     */
+    private Boolean isPropertyOfKind(String propertyName, PropertyAccessor.Kind kind) {
+        PropertyAccessor property = ClassMetadata.forClass(this.getClass()).getProperty(propertyName);
+        return (property != null && property.getKind() == kind);
     }
 
     // TODO: eventually handle the '_expand' that exists for data classifications, eg.:
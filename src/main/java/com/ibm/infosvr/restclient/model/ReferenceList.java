@@ -3,11 +3,13 @@ package com.ibm.infosvr.restclient.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ibm.infosvr.restclient.IGCDeadline;
 import com.ibm.infosvr.restclient.IGCRestClient;
 
 import java.lang.reflect.Field;
 import java.sql.Ref;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provides a standard class for any relationship in IGC, by including 'paging' details and 'items' array.
@@ -48,4 +50,53 @@ public class ReferenceList extends ObjectPrinter {
         this.paging = new Paging(this.items.size());
     }
 
+    /**
+     * Retrieve all pages of relationships that this object represents, retrieving up to 'parallelism' of the
+     * remaining pages concurrently
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve the relationships
+     * @param parallelism - the maximum number of pages to retrieve concurrently
+     */
+    public void getAllPages(IGCRestClient igcrest, int parallelism) {
+        this.items = igcrest.getAllPages(this.items, this.paging, parallelism);
+        this.paging = new Paging(this.items.size());
+    }
+
+    /**
+     * Asynchronously retrieve all pages of relationships that this object represents
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve the relationships
+     * @return {@code CompletableFuture<ReferenceList>} - this object, once all pages have been retrieved
+     */
+    public CompletableFuture<ReferenceList> getAllPagesAsync(IGCRestClient igcrest) {
+        return getAllPagesAsync(igcrest, null);
+    }
+
+    /**
+     * Asynchronously retrieve all pages of relationships that this object represents, failing (with a
+     * TimeoutException) as soon as the provided deadline passes
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve the relationships
+     * @param deadline - the deadline by which all pages must be retrieved (or null for no deadline)
+     * @return {@code CompletableFuture<ReferenceList>} - this object, once all pages have been retrieved
+     */
+    public CompletableFuture<ReferenceList> getAllPagesAsync(IGCRestClient igcrest, IGCDeadline deadline) {
+        return igcrest.getAllPagesAsync(this.items, this.paging, deadline).thenApply(allPages -> {
+            this.items = allPages;
+            this.paging = new Paging(this.items.size());
+            return this;
+        });
+    }
+
+    /**
+     * Iterate through all relationships that this object represents, retrieving any further pages only as they
+     * are needed (rather than holding all pages in memory at once, as getAllPages does)
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve any further pages
+     * @return {@code Iterable<Reference>}
+     */
+    public Iterable<Reference> iterate(IGCRestClient igcrest) {
+        return igcrest.iterate(this);
+    }
+
 }
@@ -0,0 +1,146 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.model;
+
+import com.ibm.infosvr.restclient.IGCDeadline;
+import com.ibm.infosvr.restclient.IGCRequestLimiter;
+import com.ibm.infosvr.restclient.IGCRestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Retrieves every page of every relationship (ReferenceList) of an asset, concurrently.
+ *
+ * Every ReferenceList field anywhere in the asset's class hierarchy (including protected fields, such as those on
+ * MainObject) is expanded. Where possible the remaining pages of each relationship are requested independently of
+ * each other (see Paging.getRemainingPageURLs), and the pages of all relationships are then requested together --
+ * with no more than 'maxConcurrency' requests in flight at any one time. Expanding an asset therefore takes roughly
+ * as long as its slowest relationship, rather than the sum of all of its relationships.
+ */
+public class RelationshipExpander {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    private IGCRestClient igcrest;
+    private IGCRequestLimiter limiter;
+    private IGCDeadline deadline;
+
+    /**
+     * Creates a new expander that will run no more than the default number of requests concurrently
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve the relationships
+     */
+    public RelationshipExpander(IGCRestClient igcrest) {
+        this(igcrest, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Creates a new expander that will run no more than the provided number of requests concurrently
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve the relationships
+     * @param maxConcurrency - the maximum number of requests to have in flight at any one time
+     */
+    public RelationshipExpander(IGCRestClient igcrest, int maxConcurrency) {
+        this(igcrest, maxConcurrency, null);
+    }
+
+    /**
+     * Creates a new expander that will run no more than the provided number of requests concurrently, and fail (with
+     * a TimeoutException) as soon as the provided deadline passes rather than waiting on any request still outstanding
+     *
+     * @param igcrest - the IGCRestClient connection to use to retrieve the relationships
+     * @param maxConcurrency - the maximum number of requests to have in flight at any one time
+     * @param deadline - the deadline by which all relationships must be expanded (or null for no deadline)
+     */
+    public RelationshipExpander(IGCRestClient igcrest, int maxConcurrency, IGCDeadline deadline) {
+        this.igcrest = igcrest;
+        this.limiter = new IGCRequestLimiter(maxConcurrency);
+        this.deadline = deadline;
+    }
+
+    /**
+     * Retrieve all pages of all relationships of the provided asset (updating the asset in-place)
+     *
+     * @param asset - the asset whose relationships should be expanded
+     * @return Reference - the same asset, with all of its relationships retrieved
+     */
+    public Reference expand(Reference asset) {
+        try {
+            return expandAsync(asset).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Asynchronously retrieve all pages of all relationships of the provided asset (updating the asset in-place)
+     *
+     * @param asset - the asset whose relationships should be expanded
+     * @return {@code CompletableFuture<Reference>} - the same asset, with all of its relationships retrieved
+     */
+    public CompletableFuture<Reference> expandAsync(Reference asset) {
+        if (asset == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CompletableFuture<Void>> relationships = new ArrayList<>();
+        for (ReferenceList relationship : getRelationships(asset)) {
+            if (relationship.hasMorePages()) {
+                relationships.add(expandRelationship(relationship));
+            }
+        }
+        CompletableFuture<Reference> expanded = CompletableFuture.allOf(relationships.toArray(new CompletableFuture<?>[0])).thenApply(done -> asset);
+        return (deadline == null) ? expanded : deadline.bound(expanded);
+    }
+
+    /**
+     * Retrieve all remaining pages of a single relationship, updating it in-place once they are all retrieved
+     *
+     * @param relationship - the relationship to expand
+     * @return {@code CompletableFuture<Void>} - completes once the relationship is fully expanded
+     */
+    private CompletableFuture<Void> expandRelationship(ReferenceList relationship) {
+        List<String> urls = relationship.getPaging().getRemainingPageURLs();
+        if (urls == null) {
+            // Cannot request the pages independently, so follow them one after another (as a single request slot)
+            return limiter.submit(() -> relationship.getAllPagesAsync(igcrest, deadline)).thenApply(done -> null);
+        }
+        List<CompletableFuture<ReferenceList>> pages = new ArrayList<>();
+        for (String url : urls) {
+            Paging toRetrieve = new Paging();
+            toRetrieve.setNextPageURL(url);
+            pages.add(limiter.submit(() -> (deadline == null) ? igcrest.getNextPageAsync(toRetrieve) : deadline.start(() -> igcrest.getNextPageAsync(toRetrieve))));
+        }
+        return CompletableFuture.allOf(pages.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            ArrayList<Reference> allPages = new ArrayList<>(relationship.getItems());
+            for (CompletableFuture<ReferenceList> page : pages) {
+                allPages.addAll(page.join().getItems());
+            }
+            relationship.setItems(allPages);
+            relationship.setPaging(new Paging(allPages.size()));
+            return null;
+        });
+    }
+
+    /**
+     * Retrieve every (non-null) relationship of the provided asset, from anywhere in its class hierarchy
+     *
+     * @param asset - the asset whose relationships should be retrieved
+     * @return {@code List<ReferenceList>}
+     */
+    public static List<ReferenceList> getRelationships(Reference asset) {
+        List<ReferenceList> relationships = new ArrayList<>();
+        for (PropertyAccessor property : ClassMetadata.forClass(asset.getClass()).getRelationships()) {
+            Object relationship = property.get(asset);
+            if (relationship != null) {
+                relationships.add((ReferenceList) relationship);
+            }
+        }
+        return relationships;
+    }
+
+}
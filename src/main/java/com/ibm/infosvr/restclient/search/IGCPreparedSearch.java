@@ -0,0 +1,183 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.util.BufferRecyclers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A search that is compiled once and then run many times with different values, eg.:
+ * <pre>
+ *   IGCSearchConditionSet conditions = new IGCSearchConditionSet(
+ *       new IGCSearchCondition("name", "=", IGCSearchCondition.parameter("name")));
+ *   IGCPreparedSearch byName = new IGCPreparedSearch(new IGCSearch("term", conditions));
+ *   ReferenceList results = igcrest.search(byName, "Customer");
+ * </pre>
+ *
+ * The search is serialized into JSON only when it is compiled, and split around the placeholders of its parameters;
+ * binding values to the parameters only escapes the values and copies them between the pre-encoded pieces of the
+ * query, without building or serializing any JSON structure. The search is unaffected by any later change to the
+ * IGCSearch from which it was compiled, and (being immutable) can be shared by any number of threads.
+ */
+public class IGCPreparedSearch {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final byte[] START = Character.toString(IGCSearchCondition.PARAMETER_START).getBytes(UTF_8);
+    private static final byte[] END = Character.toString(IGCSearchCondition.PARAMETER_END).getBytes(UTF_8);
+
+    // The encoded query is held as the pieces between parameters: segments[i] precedes the value of slots[i]
+    private final byte[][] segments;
+    private final int[] slots;
+    private final List<String> parameterNames;
+    private final int encodedLength;
+
+    /**
+     * Compile the provided search, whose conditions may use placeholders (see IGCSearchCondition.parameter) in place
+     * of any of their values
+     *
+     * @param igcSearch - the search to compile
+     */
+    public IGCPreparedSearch(IGCSearch igcSearch) {
+
+        byte[] query;
+        try {
+            query = MAPPER.writeValueAsBytes(igcSearch.getQuery());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to encode the search: " + igcSearch, e);
+        }
+
+        List<byte[]> pieces = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int length = 0;
+        int from = 0;
+        int start = indexOf(query, START, 0);
+        while (start >= 0) {
+            int end = indexOf(query, END, start + START.length);
+            if (end < 0) {
+                break;
+            }
+            String name = new String(query, start + START.length, end - start - START.length, UTF_8);
+            int position = names.indexOf(name);
+            if (position < 0) {
+                position = names.size();
+                names.add(name);
+            }
+            byte[] piece = copy(query, from, start);
+            pieces.add(piece);
+            positions.add(position);
+            length += piece.length;
+            from = end + END.length;
+            start = indexOf(query, START, from);
+        }
+        byte[] last = copy(query, from, query.length);
+        pieces.add(last);
+        length += last.length;
+
+        this.segments = pieces.toArray(new byte[pieces.size()][]);
+        this.slots = new int[positions.size()];
+        for (int i = 0; i < this.slots.length; i++) {
+            this.slots[i] = positions.get(i);
+        }
+        this.parameterNames = Collections.unmodifiableList(names);
+        this.encodedLength = length;
+
+    }
+
+    /**
+     * Retrieve the names of the parameters of the search, in the order in which their values should be provided
+     * (the order in which they first appear in the search)
+     *
+     * @return {@code List<String>}
+     */
+    public List<String> getParameterNames() {
+        return this.parameterNames;
+    }
+
+    /**
+     * Retrieve the (UTF-8 encoded) JSON query for the search, using the provided values for its parameters
+     *
+     * @param values - the value of each parameter, in the order of getParameterNames
+     * @return byte[] - the encoded query
+     */
+    public byte[] bind(String... values) {
+        if (values.length != parameterNames.size()) {
+            throw new IllegalArgumentException("Expected " + parameterNames.size() + " parameter values " + parameterNames + ", but received " + values.length);
+        }
+        JsonStringEncoder encoder = BufferRecyclers.getJsonStringEncoder();
+        byte[][] encoded = new byte[values.length][];
+        int length = encodedLength;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                throw new IllegalArgumentException("No value provided for parameter: " + parameterNames.get(i));
+            }
+            encoded[i] = encoder.quoteAsUTF8(values[i]);
+        }
+        for (int slot : slots) {
+            length += encoded[slot].length;
+        }
+        byte[] query = new byte[length];
+        int offset = 0;
+        for (int i = 0; i < slots.length; i++) {
+            System.arraycopy(segments[i], 0, query, offset, segments[i].length);
+            offset += segments[i].length;
+            byte[] value = encoded[slots[i]];
+            System.arraycopy(value, 0, query, offset, value.length);
+            offset += value.length;
+        }
+        byte[] last = segments[slots.length];
+        System.arraycopy(last, 0, query, offset, last.length);
+        return query;
+    }
+
+    /**
+     * Retrieve the (UTF-8 encoded) JSON query for the search, using the provided values for its parameters
+     *
+     * @param values - the value of each parameter, keyed by the name of the parameter
+     * @return byte[] - the encoded query
+     */
+    public byte[] bind(Map<String, String> values) {
+        String[] ordered = new String[parameterNames.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = values.get(parameterNames.get(i));
+        }
+        return bind(ordered);
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(new String(segments[i], UTF_8)).append("${").append(parameterNames.get(slots[i])).append('}');
+        }
+        sb.append(new String(segments[slots.length], UTF_8));
+        return sb.toString();
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target, int from) {
+        for (int i = from; i <= bytes.length - target.length; i++) {
+            int j = 0;
+            while (j < target.length && bytes[i + j] == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] copy(byte[] bytes, int from, int to) {
+        byte[] piece = new byte[to - from];
+        System.arraycopy(bytes, from, piece, 0, piece.length);
+        return piece;
+    }
+
+}
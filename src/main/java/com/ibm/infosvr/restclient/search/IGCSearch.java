@@ -6,12 +6,16 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class IGCSearch {
 
     private JsonNodeFactory nf = JsonNodeFactory.instance;
 
     private ArrayNode types;
     private ArrayNode properties;
+    private ArrayNode sorts;
 
     private IGCSearchConditionSet conditions;
     private int pageSize = 100;
@@ -21,6 +25,7 @@ public class IGCSearch {
     public IGCSearch() {
         this.types = nf.arrayNode();
         this.properties = nf.arrayNode();
+        this.sorts = nf.arrayNode();
     }
 
     public IGCSearch(String type) {
@@ -61,6 +66,19 @@ public class IGCSearch {
         this.properties.add(property);
     }
 
+    /**
+     * Add a property by which to sort the results (results are sorted by each property in the order they are added)
+     *
+     * @param property - the name of the property by which to sort
+     * @param ascending - true to sort in ascending order, false for descending order
+     */
+    public void addSortingCriteria(String property, boolean ascending) {
+        ObjectNode sort = nf.objectNode();
+        sort.set("property", nf.textNode(property));
+        sort.set("ascending", nf.booleanNode(ascending));
+        this.sorts.add(sort);
+    }
+
     /**
      * Adds a set of conditions to use for the search
      *
@@ -88,6 +106,30 @@ public class IGCSearch {
         this.devGlossary = on;
     }
 
+    /**
+     * Split this search into a number of sub-searches, one per partition: each sub-search finds only the results of
+     * this search that also meet the conditions of its partition (see IGCSearchPartitions). As long as the partitions
+     * are disjoint, so are the results of the sub-searches, which can then be run concurrently (see
+     * IGCRestClient.stream(IGCSearch, List, int)). Later changes to this search do not affect the sub-searches.
+     *
+     * @param partitions - the conditions defining each partition
+     * @return {@code List<IGCSearch>} - the sub-search for each partition (in the same order as the partitions)
+     */
+    public List<IGCSearch> partition(List<IGCSearchConditionSet> partitions) {
+        List<IGCSearch> subSearches = new ArrayList<>(partitions.size());
+        for (IGCSearchConditionSet partition : partitions) {
+            IGCSearch subSearch = new IGCSearch();
+            subSearch.types = this.types.deepCopy();
+            subSearch.properties = this.properties.deepCopy();
+            subSearch.sorts = this.sorts.deepCopy();
+            subSearch.conditions = IGCSearchConditionSet.allOf(this.conditions, partition);
+            subSearch.pageSize = this.pageSize;
+            subSearch.devGlossary = this.devGlossary;
+            subSearches.add(subSearch);
+        }
+        return subSearches;
+    }
+
     /**
      * Retrieves the query string for this search object
      *
@@ -101,6 +143,9 @@ public class IGCSearch {
         if (conditions != null && conditions.size() > 0) {
             query.set("where", conditions.getConditionSetObject());
         }
+        if (sorts.size() > 0) {
+            query.set("sorts", sorts);
+        }
         if (devGlossary) {
             query.set("workflowMode", nf.textNode("draft"));
         }
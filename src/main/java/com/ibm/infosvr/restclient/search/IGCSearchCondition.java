@@ -6,6 +6,10 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class IGCSearchCondition {
 
+    // Private-use characters delimiting the name of a parameter, which IGC itself will never use in a value
+    static final char PARAMETER_START = '\uE000';
+    static final char PARAMETER_END = '\uE001';
+
     private JsonNodeFactory nf = JsonNodeFactory.instance;
 
     private String property;
@@ -33,6 +37,17 @@ public class IGCSearchCondition {
         this.negated = negated;
     }
 
+    /**
+     * Retrieve a placeholder to use as the value of a condition, in place of a value that will only be provided each
+     * time the search is run (see IGCPreparedSearch)
+     *
+     * @param name - the name of the parameter whose value should be used
+     * @return String - the placeholder for the parameter
+     */
+    public static String parameter(String name) {
+        return PARAMETER_START + name + PARAMETER_END;
+    }
+
     public String getProperty() {
         return this.property;
     }
@@ -59,6 +59,26 @@ public class IGCSearchConditionSet {
         return this.conditions.size();
     }
 
+    /**
+     * Creates a set of conditions that is only met when all of the provided sets of conditions are met (any that are
+     * null or empty are ignored); each set is nested as it currently stands, so later changes to it have no effect
+     *
+     * @param conditionSets - the sets of conditions that must all be met
+     * @return IGCSearchConditionSet
+     */
+    static IGCSearchConditionSet allOf(IGCSearchConditionSet... conditionSets) {
+        IGCSearchConditionSet all = new IGCSearchConditionSet();
+        for (IGCSearchConditionSet conditionSet : conditionSets) {
+            if (conditionSet != null) {
+                ObjectNode condSet = conditionSet.getConditionSetObject().deepCopy();
+                if (condSet.has("conditions")) {
+                    all.conditions.add(condSet);
+                }
+            }
+        }
+        return all;
+    }
+
     /**
      * Returns the JSON structure for the set of conditions
      *
@@ -66,14 +86,16 @@ public class IGCSearchConditionSet {
      */
     public ObjectNode getConditionSetObject() {
         ObjectNode condSet = nf.objectNode();
-        if (size() > 0) {
-            condSet.set("conditions", this.conditions);
-            condSet.set("operator", nf.textNode(this.conditionJoin));
-        }
+        ArrayNode condSetOuter = this.conditions;
         if (nestedConditions != null) {
-            ArrayNode condSetOuter = (ArrayNode) condSet.get("conditions");
+            // Nest into a copy, so that retrieving the structure again does not nest the conditions a second time
+            condSetOuter = nf.arrayNode().addAll(this.conditions);
             condSetOuter.add(nestedConditions.getConditionSetObject());
         }
+        if (condSetOuter.size() > 0) {
+            condSet.set("conditions", condSetOuter);
+            condSet.set("operator", nf.textNode(this.conditionJoin));
+        }
         return condSet;
     }
 
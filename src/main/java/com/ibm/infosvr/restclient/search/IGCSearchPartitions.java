@@ -0,0 +1,95 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+package com.ibm.infosvr.restclient.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Creates the partitions by which to split a search into disjoint sub-searches (see IGCSearch.partition), so that a
+ * search over a very large number of assets can be run as several concurrent searches rather than by paging through
+ * every result one page after another.
+ *
+ * Results are only partitioned consistently if the values on which they are partitioned do not change while the
+ * sub-searches are run (eg. an asset modified during a scan partitioned by modified_on may move into another window).
+ */
+public final class IGCSearchPartitions {
+
+    private IGCSearchPartitions() { }
+
+    /**
+     * Partition by when assets were last modified, into windows of equal length between the provided times; the first
+     * window also includes everything before 'from' and the last everything after 'to', so that together the windows
+     * cover every asset
+     *
+     * @param from - the start of the period to partition (in milliseconds since the epoch)
+     * @param to - the end of the period to partition (in milliseconds since the epoch)
+     * @param numWindows - the number of windows (partitions) into which to split the period
+     * @return {@code List<IGCSearchConditionSet>}
+     */
+    public static List<IGCSearchConditionSet> byModifiedOn(long from, long to, int numWindows) {
+        return byDateRange("modified_on", from, to, numWindows);
+    }
+
+    /**
+     * Partition by the provided date (or numeric) property, into windows of equal length between the provided values;
+     * the first window also includes everything before 'from' and the last everything after 'to', so that together
+     * the windows cover every asset with a value for the property
+     *
+     * @param property - the date property by which to partition (eg. "modified_on" or "created_on")
+     * @param from - the start of the period to partition (in milliseconds since the epoch)
+     * @param to - the end of the period to partition (in milliseconds since the epoch)
+     * @param numWindows - the number of windows (partitions) into which to split the period
+     * @return {@code List<IGCSearchConditionSet>}
+     */
+    public static List<IGCSearchConditionSet> byDateRange(String property, long from, long to, int numWindows) {
+        int windows = Math.max(1, numWindows);
+        long length = Math.max(1, (to - from) / windows);
+        List<IGCSearchConditionSet> partitions = new ArrayList<>(windows);
+        for (int i = 0; i < windows; i++) {
+            IGCSearchConditionSet window = new IGCSearchConditionSet();
+            if (i > 0) {
+                window.addCondition(new IGCSearchCondition(property, ">=", Long.toString(from + i * length)));
+            }
+            if (i < windows - 1) {
+                window.addCondition(new IGCSearchCondition(property, "<", Long.toString(from + (i + 1) * length)));
+            }
+            partitions.add(window);
+        }
+        return partitions;
+    }
+
+    /**
+     * Partition by the start of the provided property (eg. the first letter of the name); the prefixes should not
+     * overlap (note that IGC compares them without regard to case), and only assets whose value starts with one of the
+     * prefixes are covered
+     *
+     * @param property - the property by which to partition (eg. "name")
+     * @param prefixes - the prefix of the values within each partition
+     * @return {@code List<IGCSearchConditionSet>}
+     */
+    public static List<IGCSearchConditionSet> byPrefix(String property, String... prefixes) {
+        List<IGCSearchConditionSet> partitions = new ArrayList<>(prefixes.length);
+        for (String prefix : prefixes) {
+            partitions.add(new IGCSearchConditionSet(new IGCSearchCondition(property, "like {0}%", prefix)));
+        }
+        return partitions;
+    }
+
+    /**
+     * Partition by the value of the provided property, such as the Repository ID of the asset containing each asset
+     * (eg. by "database_table_or_view" for database columns); only assets with one of the values are covered
+     *
+     * @param property - the property by which to partition
+     * @param values - the value of the property within each partition
+     * @return {@code List<IGCSearchConditionSet>}
+     */
+    public static List<IGCSearchConditionSet> byValue(String property, Collection<String> values) {
+        List<IGCSearchConditionSet> partitions = new ArrayList<>(values.size());
+        for (String value : values) {
+            partitions.add(new IGCSearchConditionSet(new IGCSearchCondition(property, "=", value)));
+        }
+        return partitions;
+    }
+
+}